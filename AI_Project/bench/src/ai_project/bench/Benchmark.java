@@ -0,0 +1,118 @@
+package ai_project.bench;
+
+import ai_project.bench.Positions.Position;
+import ai_project.board.Board;
+import ai_project.board.model.Move;
+import ai_project.eval.EvaluationFunction;
+import ai_project.eval.PathLengthEvaluation;
+import ai_project.search.MinimaxSearch;
+import ai_project.search.TranspositionTable;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless micro-benchmarks for the board, evaluation and search hot paths over the {@link Positions}
+ * corpus. A dependency-free stand-in for JMH: every case is warmed up, then run in growing batches for
+ * a fixed time. The report gives the mean time per call and, like {@code -prof gc}, the bytes allocated
+ * per call and the GC runs during measurement. Results feed a sink so the JIT cannot drop the work.
+ *
+ * Usage: {@code ant bench -Dbench.args="[--filter <text>] [--warmup <ms>] [--time <ms>]"}
+ */
+public final class Benchmark {
+
+    interface Op { long run(); }
+
+    record Case(String name, Position position, Op op) { }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    private Benchmark() { }
+
+    public static void main(String[] args) {
+        String filter = "";
+        long warmupMs = 1000, timeMs = 2000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--filter" -> filter = args[++i];
+                case "--warmup" -> warmupMs = Long.parseLong(args[++i]);
+                case "--time" -> timeMs = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException(
+                    "Unknown argument: " + args[i] + " (expected --filter <text>, --warmup <ms>, --time <ms>)");
+            }
+        }
+
+        System.out.printf("%-20s %-9s %14s %12s %5s%n", "Benchmark", "Position", "ns/op", "B/op", "GCs");
+        for (Case c : cases()) {
+            String label = c.name() + " " + c.position().name();
+            if (!label.contains(filter)) continue;
+            run(c.op(), warmupMs);
+            long gcs = gcCount(), bytes = allocatedBytes(), start = System.nanoTime();
+            long calls = run(c.op(), timeMs);
+            long nanos = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            gcs = gcCount() - gcs;
+            System.out.printf("%-20s %-9s %14.1f %12.1f %5d%n", c.name(), c.position().name(),
+                (double) nanos / calls, (double) bytes / calls, gcs);
+        }
+        if (sink == 42) System.out.println(); // keep the sink observable
+    }
+
+    static List<Case> cases() {
+        EvaluationFunction eval = new PathLengthEvaluation();
+        List<Case> cases = new ArrayList<>();
+        for (Position p : Positions.all()) {
+            Board b = p.board();
+            int pid = b.getToMove(), opp = pid == 1 ? 2 : 1;
+            List<Move> legal = b.getLegalMoves(pid);
+            int[] next = {0};
+
+            cases.add(new Case("getLegalMoves", p, () -> b.getLegalMoves(pid).size()));
+            // Cycles through every legal move, so wall validation is included
+            cases.add(new Case("applyMove", p, () -> b.applyMove(legal.get(next[0]++ % legal.size())).zobristKey()));
+            cases.add(new Case("shortestPathLength", p, () -> b.shortestPathLength(1) + b.shortestPathLength(2)));
+            cases.add(new Case("evaluate", p, () -> Double.doubleToRawLongBits(eval.evaluate(b, pid, opp))));
+            for (int depth = 1; depth <= 3; depth++) {
+                // Cleared before every call so each one is a cold, reproducible search
+                TranspositionTable table = new TranspositionTable(16);
+                MinimaxSearch search = new MinimaxSearch(table, new Random(1));
+                int d = depth;
+                cases.add(new Case("chooseMove(d=" + d + ")", p, () -> {
+                    table.clear();
+                    return b.variant().codec().encode(search.chooseMove(b, pid, d, eval));
+                }));
+            }
+        }
+        return cases;
+    }
+
+    /** Calls {@code op} in batches that double while they take under a millisecond; returns the call count. */
+    private static long run(Op op, long millis) {
+        long end = System.nanoTime() + millis * 1_000_000L, calls = 0;
+        int batch = 1;
+        while (true) {
+            long t = System.nanoTime();
+            for (int i = 0; i < batch; i++) sink += op.run();
+            calls += batch;
+            long now = System.nanoTime();
+            if (now >= end) return calls;
+            if (now - t < 1_000_000L) batch <<= 1;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) n += Math.max(0, gc.getCollectionCount());
+        return n;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package ai_project.bench;
+
+import ai_project.board.Board;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveKind;
+import ai_project.eval.PathLengthEvaluation;
+import ai_project.search.MinimaxSearch;
+import ai_project.search.OpeningBook;
+import ai_project.search.SearchLimits;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Offline opening-book builder. Starting from the initial position it searches, ply by ply, every
+ * position reached by the book move or by any pawn move of either side (walls off the book line are
+ * left to the search), and writes the results with {@link OpeningBook#write}. Positions within a ply
+ * are searched in parallel, one engine per thread.
+ *
+ * Usage: {@code ant book -Dbook.args="[--plies 6] [--time <ms> | --depth <n>] [--threads <n>] [--out quoridor.book]"}
+ */
+public final class BookBuilder {
+
+    private BookBuilder() { }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int plies = 6, threads = Runtime.getRuntime().availableProcessors();
+        SearchLimits limits = SearchLimits.time(2000);
+        Path out = Path.of(OpeningBook.DEFAULT_FILE);
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--plies" -> plies = Integer.parseInt(args[++i]);
+                case "--time" -> limits = SearchLimits.time(Long.parseLong(args[++i]));
+                case "--depth" -> limits = SearchLimits.depth(Integer.parseInt(args[++i]));
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        SearchLimits l = limits;
+        ThreadLocal<MinimaxSearch> engines = ThreadLocal.withInitial(MinimaxSearch::new);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<OpeningBook.Entry> entries = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Board> frontier = List.of(new QuoridorBoard());
+        seen.add(frontier.get(0).zobristKey());
+        try {
+            for (int ply = 0; ply < plies && !frontier.isEmpty(); ply++) {
+                List<Future<OpeningBook.Entry>> results = new ArrayList<>(frontier.size());
+                for (Board b : frontier) {
+                    results.add(pool.submit(() -> {
+                        MinimaxSearch search = engines.get();
+                        Move m = search.chooseMove(b, b.getToMove(), l, new PathLengthEvaluation());
+                        return new OpeningBook.Entry(b.zobristKey(), b.variant().codec().encode(m), search.lastStats().depth());
+                    }));
+                }
+
+                List<Board> next = new ArrayList<>();
+                for (int i = 0; i < frontier.size(); i++) {
+                    Board b = frontier.get(i);
+                    OpeningBook.Entry e = results.get(i).get();
+                    entries.add(e);
+                    for (Move m : b.getLegalMoves(b.getToMove())) {
+                        if (m.kind() != MoveKind.PAWN && b.variant().codec().encode(m) != e.move()) continue;
+                        Board child = b.applyMove(m);
+                        if (!child.isTerminal() && seen.add(child.zobristKey())) next.add(child);
+                    }
+                }
+                System.out.printf("ply %d: %d positions, %d entries%n", ply, frontier.size(), entries.size());
+                frontier = next;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book search failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        OpeningBook.write(out, entries);
+        System.out.println("Wrote " + entries.size() + " positions to " + out);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package ai_project.bench;
+
+import ai_project.bench.Positions.Position;
+import ai_project.board.Board;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.SearchBoard;
+import ai_project.board.Variant;
+import ai_project.board.model.Move;
+
+import java.util.List;
+
+/**
+ * Perft: counts the leaves of the full legal game tree below a position, to validate and time move
+ * generation in isolation. Finished games are leaves with no children, so they add nothing below them.
+ * Two walkers count the same tree: {@code board} uses only the {@link Board} interface (getLegalMoves /
+ * applyMove) and so works with any implementation, {@code search} uses SearchBoard's int moves with
+ * make / unmake. The known counts from the start position are checked by {@code PerftTest} under
+ * {@code ant test}; this tool times the walkers and counts deeper or elsewhere.
+ *
+ * Usage: {@code ant perft -Dperft.args="[--depth N] [--position start|opening|midgame|endgame]
+ * [--impl board|search] [--variant 11x11/13] [--divide]"}; a variant other than the standard
+ * 9x9/10 counts from its start position only.
+ */
+public final class Perft {
+
+    private Perft() { }
+
+    public static void main(String[] args) {
+        int depth = 3;
+        String position = "start", impl = "search";
+        Variant variant = Variant.STANDARD;
+        boolean divide = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--depth" -> depth = Integer.parseInt(args[++i]);
+                case "--position" -> position = args[++i];
+                case "--impl" -> impl = args[++i];
+                case "--variant" -> variant = Variant.parse(args[++i]);
+                case "--divide" -> divide = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        Board board = position(variant, position);
+        long start = System.nanoTime();
+        long nodes;
+        if (divide) {
+            nodes = 0;
+            for (Move m : board.getLegalMoves(board.getToMove())) {
+                long n = depth <= 1 ? 1 : count(impl, board.applyMove(m), depth - 1);
+                System.out.println(m + ": " + n);
+                nodes += n;
+            }
+        } else {
+            nodes = count(impl, board, depth);
+        }
+        report(impl, depth, nodes, System.nanoTime() - start);
+    }
+
+    static long count(String impl, Board board, int depth) {
+        return switch (impl) {
+            case "board" -> perft(board, depth);
+            case "search" -> perft(SearchBoard.of(board), depth, new int[Math.max(depth, 1)][SearchBoard.MAX_MOVES]);
+            default -> throw new IllegalArgumentException("Unknown implementation: " + impl + " (board or search)");
+        };
+    }
+
+    /** Generic perft over the Board interface; the last ply is counted without applying moves. */
+    static long perft(Board board, int depth) {
+        if (depth == 0) return 1;
+        List<Move> moves = board.getLegalMoves(board.getToMove());
+        if (depth == 1) return moves.size();
+        long n = 0;
+        for (Move m : moves) n += perft(board.applyMove(m), depth - 1);
+        return n;
+    }
+
+    /** Same count with make / unmake and one preallocated move buffer per ply. */
+    static long perft(SearchBoard board, int depth, int[][] moveStack) {
+        if (depth == 0) return 1;
+        int[] moves = moveStack[depth - 1];
+        int count = board.generateMoves(board.getToMove(), moves);
+        if (depth == 1) return count;
+        long n = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            n += perft(board, depth - 1, moveStack);
+            board.unmakeMove();
+        }
+        return n;
+    }
+
+    private static Board position(Variant variant, String name) {
+        if (name.equals("start")) return new QuoridorBoard(variant);
+        if (variant != Variant.STANDARD) throw new IllegalArgumentException("Only the start position exists on " + variant);
+        for (Position p : Positions.all()) if (p.name().equals(name)) return p.board();
+        throw new IllegalArgumentException("Unknown position: " + name);
+    }
+
+    private static void report(String impl, int depth, long nodes, long nanos) {
+        System.out.printf("%-6s depth %d: %,d nodes in %.3f s (%,.0f nodes/s)%n",
+            impl, depth, nodes, nanos / 1e9, nodes / (nanos / 1e9));
+    }
+}
\ No newline at end of file
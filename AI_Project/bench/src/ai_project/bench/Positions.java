@@ -0,0 +1,71 @@
+package ai_project.bench;
+
+import ai_project.board.Board;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.model.Move;
+import ai_project.board.model.WallOrientation;
+
+import java.util.List;
+
+import static ai_project.board.model.WallOrientation.HORIZONTAL;
+import static ai_project.board.model.WallOrientation.VERTICAL;
+
+/**
+ * Fixed benchmark corpus, built by replaying hard-coded games so it does not drift when the engine
+ * changes. Every move is checked against {@link Board#getLegalMoves}.
+ */
+final class Positions {
+
+    record Position(String name, Board board) { }
+
+    private Positions() { }
+
+    static List<Position> all() {
+        return List.of(opening(), midgame(), endgame());
+    }
+
+    /** One pawn step each: no walls, ~130 legal moves. */
+    static Position opening() {
+        return new Position("opening", play(pawn(7, 4), pawn(1, 4)));
+    }
+
+    /** Six walls on the board, pawns near the centre. */
+    static Position midgame() {
+        return new Position("midgame", play(
+            pawn(7, 4), pawn(1, 4), pawn(6, 4), pawn(2, 4),
+            wall(2, 3, HORIZONTAL), wall(5, 4, HORIZONTAL),
+            pawn(6, 3), wall(5, 2, HORIZONTAL),
+            wall(3, 5, VERTICAL), pawn(2, 5),
+            wall(4, 0, HORIZONTAL), wall(6, 5, VERTICAL),
+            pawn(6, 2), pawn(3, 5)));
+    }
+
+    /** Fourteen walls placed; player 1 has been forced around a long detour, player 2 is 4 steps from goal. */
+    static Position endgame() {
+        return new Position("endgame", play(
+            pawn(7, 4), pawn(1, 4), pawn(6, 4), pawn(2, 4),
+            wall(2, 3, HORIZONTAL), wall(5, 4, HORIZONTAL),
+            pawn(6, 3), wall(5, 2, HORIZONTAL),
+            wall(3, 5, VERTICAL), pawn(2, 5),
+            wall(4, 0, HORIZONTAL), wall(6, 5, VERTICAL),
+            pawn(6, 2), pawn(3, 5),
+            wall(3, 6, HORIZONTAL), wall(5, 0, HORIZONTAL),
+            wall(4, 6, VERTICAL), wall(1, 1, VERTICAL),
+            wall(0, 6, HORIZONTAL), wall(2, 0, HORIZONTAL),
+            wall(6, 6, HORIZONTAL), wall(7, 3, VERTICAL),
+            pawn(6, 3), pawn(4, 5), pawn(6, 4), pawn(5, 5), pawn(7, 4), pawn(5, 6), pawn(8, 4), pawn(6, 6)));
+    }
+
+    private static Board play(Move... moves) {
+        Board b = new QuoridorBoard();
+        for (Move m : moves) {
+            if (!b.getLegalMoves(b.getToMove()).contains(m))
+                throw new IllegalStateException("Illegal corpus move " + m + " for player " + b.getToMove());
+            b = b.applyMove(m);
+        }
+        return b;
+    }
+
+    private static Move pawn(int r, int c) { return Move.pawn(r, c); }
+    private static Move wall(int r, int c, WallOrientation o) { return Move.wall(r, c, o); }
+}
\ No newline at end of file
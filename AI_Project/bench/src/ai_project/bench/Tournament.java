@@ -0,0 +1,215 @@
+package ai_project.bench;
+
+import ai_project.agent.AIBot;
+import ai_project.board.Board;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.SearchBoard;
+import ai_project.board.Variant;
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveKind;
+import ai_project.search.MctsSearch;
+import ai_project.search.MinimaxSearch;
+import ai_project.search.OpeningBook;
+import ai_project.search.SearchLimits;
+import ai_project.search.SearchStats;
+import ai_project.search.SearchStrategy;
+import ai_project.search.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless self-play: engine A against engine B over many games, played in parallel on a bounded pool
+ * (one game per core, each engine single-threaded). Games come in pairs that share a random opening with
+ * colours swapped, so neither side profits from a lucky start. Everything derives from {@code --seed};
+ * with depth or node limits a run is fully reproducible.
+ *
+ * Usage: {@code ant tournament -Dtournament.args="--a minimax:hard --b minimax-allwalls:hard --games 200"}
+ * with further options {@code --time <ms>} (overrides both difficulty budgets), {@code --depth <n>},
+ * {@code --threads <n>}, {@code --seed <n>}, {@code --opening-plies <n>}, {@code --max-plies <n>},
+ * {@code --variant <size>x<size>[/<walls>]} (board to play on, 9x9/10 by default) and
+ * {@code --book <file>} (opening book for both sides; none by default).
+ * Engines: {@code minimax} (candidate walls), {@code minimax-allwalls} (every legal wall searched),
+ * {@code mcts} (UCT with playouts).
+ */
+public final class Tournament {
+
+    // Per-engine table: 2^18 entries (6 MB), so a game per core stays small
+    private static final int TABLE_BITS = 18;
+
+    record Player(String engine, String difficulty) {
+        static Player parse(String spec) {
+            int colon = spec.indexOf(':');
+            return colon < 0 ? new Player(spec, "hard") : new Player(spec.substring(0, colon), spec.substring(colon + 1));
+        }
+
+        @Override
+        public String toString() { return engine + ":" + difficulty; }
+    }
+
+    /** Outcome of one game from A's point of view, plus both engines' thinking totals. */
+    record GameResult(double scoreA, int[] moves, int[] searched, long[] thinkNanos, SearchStats[] stats) { }
+
+    private Tournament() { }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Player a = Player.parse("minimax:hard"), b = Player.parse("minimax-allwalls:hard");
+        SearchLimits limits = null;
+        OpeningBook book = null;
+        Variant variant = Variant.STANDARD;
+        int games = 100, threads = Runtime.getRuntime().availableProcessors(), openingPlies = 4, maxPlies = 300;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--a" -> a = Player.parse(args[++i]);
+                case "--b" -> b = Player.parse(args[++i]);
+                case "--time" -> limits = SearchLimits.time(Long.parseLong(args[++i]));
+                case "--depth" -> limits = SearchLimits.depth(Integer.parseInt(args[++i]));
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--opening-plies" -> openingPlies = Integer.parseInt(args[++i]);
+                case "--max-plies" -> maxPlies = Integer.parseInt(args[++i]);
+                case "--variant" -> variant = Variant.parse(args[++i]);
+                case "--book" -> book = OpeningBook.open(Path.of(args[++i]));
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        games += games % 2; // colour-swapped pairs
+
+        System.out.printf("%s vs %s, %d games on %s on %d threads%n", a, b, games, variant, threads);
+        // One platform thread per game slot: games are CPU-bound and never block, so virtual threads
+        // would add nothing but a scheduler between the games and the cores
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<GameResult>> futures = new ArrayList<>(games);
+        for (int g = 0; g < games; g++) {
+            Player pa = a, pb = b;
+            SearchLimits l = limits;
+            long gameSeed = seed * 1_000_003L + g, openingSeed = seed * 1_000_003L + g / 2;
+            int op = openingPlies, mp = maxPlies;
+            boolean aFirst = g % 2 == 0;
+            OpeningBook bk = book;
+            Variant v = variant;
+            futures.add(pool.submit(() -> play(v, pa, pb, aFirst, l, bk, gameSeed, openingSeed, op, mp)));
+        }
+
+        List<GameResult> results = new ArrayList<>(games);
+        try {
+            for (Future<GameResult> f : futures) {
+                results.add(f.get());
+                if (results.size() % Math.max(1, games / 10) == 0)
+                    System.out.printf("  %d/%d games%n", results.size(), games);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        report(a, b, results);
+    }
+
+    /** Plays one game; index 0 of the per-engine arrays is A, index 1 is B. */
+    static GameResult play(Variant variant, Player a, Player b, boolean aFirst, SearchLimits limits, OpeningBook book,
+                           long seed, long openingSeed, int openingPlies, int maxPlies) {
+        Random rng = new Random(seed);
+        SearchStrategy[] engines = {engine(a.engine(), rng.nextLong()), engine(b.engine(), rng.nextLong())};
+        int aId = aFirst ? 1 : 2, bId = 3 - aId;
+        AIBot[] bots = {
+            new AIBot(aId, a.difficulty(), engines[0], limits, new Random(rng.nextLong()), book),
+            new AIBot(bId, b.difficulty(), engines[1], limits, new Random(rng.nextLong()), book)
+        };
+
+        Board board = opening(variant, openingSeed, openingPlies);
+        int[] moves = new int[2], searched = new int[2];
+        long[] think = new long[2];
+        SearchStats[] stats = {new SearchStats(), new SearchStats()};
+        for (int ply = 0; ply < maxPlies && !board.isTerminal(); ply++) {
+            int side = board.getToMove() == aId ? 0 : 1;
+            long t = System.nanoTime();
+            AIBot.Decision d = bots[side].decide(board);
+            think[side] += System.nanoTime() - t;
+            Move m = d.move();
+            if (m == null) break;
+            if (d.stats() != null) {
+                stats[side].add(d.stats());
+                searched[side]++;
+            }
+            moves[side]++;
+            board = board.applyMove(m);
+        }
+
+        Integer w = board.getWinner();
+        double score = w == null ? 0.5 : w == aId ? 1.0 : 0.0;
+        return new GameResult(score, moves, searched, think, stats);
+    }
+
+    static SearchStrategy engine(String name, long seed) {
+        return switch (name) {
+            case "minimax" -> new MinimaxSearch(new TranspositionTable(TABLE_BITS), new Random(seed));
+            case "minimax-allwalls" -> {
+                MinimaxSearch s = new MinimaxSearch(new TranspositionTable(TABLE_BITS), new Random(seed));
+                s.setWallRing(SearchBoard.ALL_WALLS);
+                yield s;
+            }
+            case "mcts" -> new MctsSearch(1, seed);
+            default -> throw new IllegalArgumentException("Unknown engine: " + name);
+        };
+    }
+
+    /** Random pawn steps from the start position; walls are left to the engines. */
+    static Board opening(Variant variant, long seed, int plies) {
+        Random rng = new Random(seed);
+        Board board = new QuoridorBoard(variant);
+        for (int i = 0; i < plies; i++) {
+            List<Move> pawnMoves = board.getLegalMoves(board.getToMove()).stream()
+                .filter(m -> m.kind() == MoveKind.PAWN).toList();
+            board = board.applyMove(pawnMoves.get(rng.nextInt(pawnMoves.size())));
+        }
+        return board;
+    }
+
+    private static void report(Player a, Player b, List<GameResult> results) {
+        int n = results.size(), wins = 0, draws = 0, losses = 0;
+        double sum = 0, sumSq = 0;
+        int[] moves = new int[2], searched = new int[2];
+        long[] think = new long[2];
+        SearchStats[] stats = {new SearchStats(), new SearchStats()};
+        for (GameResult r : results) {
+            if (r.scoreA() == 1.0) wins++; else if (r.scoreA() == 0.0) losses++; else draws++;
+            sum += r.scoreA();
+            sumSq += r.scoreA() * r.scoreA();
+            for (int s = 0; s < 2; s++) {
+                moves[s] += r.moves()[s];
+                think[s] += r.thinkNanos()[s];
+                searched[s] += r.searched()[s];
+                stats[s].add(r.stats()[s]);
+            }
+        }
+
+        // Elo from the mean score; the 95% interval comes from the per-game score variance
+        double mean = sum / n;
+        double stdErr = Math.sqrt(Math.max(0, sumSq / n - mean * mean) / n);
+        System.out.printf("%nA = %s, B = %s%n", a, b);
+        System.out.printf("A: +%d =%d -%d  score %.1f%%%n", wins, draws, losses, 100 * mean);
+        System.out.printf("Elo(A - B): %+.1f  [%+.1f, %+.1f] (95%%)%n",
+            elo(mean), elo(mean - 1.96 * stdErr), elo(mean + 1.96 * stdErr));
+        String[] names = {"A", "B"};
+        for (int s = 0; s < 2; s++) {
+            System.out.printf("%s: %d moves (%d searched), %.1f ms/move, %,.0f nodes/s%n", names[s], moves[s],
+                searched[s], moves[s] == 0 ? 0.0 : think[s] / 1e6 / moves[s], stats[s].nodesPerSecond());
+            if (searched[s] > 0) System.out.printf("   %s%n", stats[s]);
+        }
+    }
+
+    private static double elo(double score) {
+        double p = Math.min(Math.max(score, 1e-3), 1 - 1e-3);
+        return -400 * Math.log10(1 / p - 1);
+    }
+}
\ No newline at end of file
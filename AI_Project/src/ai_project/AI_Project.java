@@ -1,10 +1,12 @@
 package ai_project;
 
 import ai_project.agent.AIBot;
+import ai_project.agent.EngineService;
 import ai_project.board.Board;
+import ai_project.board.GameRecord;
 import ai_project.board.QuoridorBoard;
+import ai_project.board.Variant;
 import ai_project.board.model.Move;
-import ai_project.board.model.MoveKind;
 import ai_project.board.model.WallOrientation;
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -19,18 +21,27 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
-import java.util.List;
-import java.util.Stack;
-import java.util.concurrent.CompletableFuture;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
 
 public class AI_Project extends Application {
 
     // --- Configuration ---
+    // The running game is mirrored here move by move, so it survives a crash
+    private static final Path AUTOSAVE_FILE = Path.of(System.getProperty("quoridor.autosave", "quoridor-autosave.qrec"));
+    // Cell and gap sizes of the standard board; other sizes scale both to the same pixel size
     private static final int CELL_SIZE = 50;
     private static final int GAP_SIZE = 12;
+    private static final int PAWN_SIZE = 30;
     private static final int BOARD_PIXEL_SIZE = (9 * CELL_SIZE) + (8 * GAP_SIZE);
+    private static final String[] BOARD_SIZES = {"5x5", "7x7", "9x9", "11x11", "13x13"};
 
     // --- Colors ---
     private static final Color COLOR_BG = Color.web("#3E2723");        // Dark Wood Background
@@ -44,10 +55,15 @@ public class AI_Project extends Application {
     // --- Game State ---
     private Board board;
     private AIBot aiBot;
+    private final EngineService engine = new EngineService();
+    private EngineService.SearchHandle thinking; // the bot's running search, if any
     
-    // Undo/Redo History
-    private Stack<Board> undoStack = new Stack<>();
-    private Stack<Board> redoStack = new Stack<>();
+    // Undo/Redo History: the move log of the game, board is always record.current()
+    private GameRecord record = new GameRecord();
+    // Board size and walls of the game on the board; the grid is built for it
+    private Variant variant = Variant.STANDARD;
+    // The game the last session left in the autosave file, until a game starts and overwrites it
+    private GameRecord recovered;
 
     private boolean isVsComputer = true;
     private String aiDifficulty = "medium";
@@ -59,6 +75,7 @@ public class AI_Project extends Application {
     // --- UI Components ---
     private StackPane rootLayout;
     private VBox menuPane;
+    private Button resumeButton;
     private BorderPane gamePane;
     private GridPane boardGrid;
     private Label statusLabel;
@@ -69,6 +86,18 @@ public class AI_Project extends Application {
     private Button btnUndo;
     private Button btnRedo;
 
+    // --- Board Scene Graph (built once per variant, then updated in place) ---
+    private Rectangle[][] cells;
+    private Rectangle[][] placedWallsH;
+    private Rectangle[][] placedWallsV;
+    private Rectangle p1Pawn;
+    private Rectangle p2Pawn;
+    private boolean[][] highlighted;
+
+    // Legal moves of the side to move, computed once per position
+    private Set<Move> legalMoves;
+    private long legalMovesKey;
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -77,6 +106,7 @@ public class AI_Project extends Application {
     public void start(Stage primaryStage) {
         // 1. Root Layout handles layering (Menu over Game)
         rootLayout = new StackPane();
+        recovered = readAutosave();
         initGameView();
         initMenuView();
 
@@ -92,6 +122,14 @@ public class AI_Project extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        cancelThinking();
+        if (aiBot != null) aiBot.close();
+        engine.close();
+        record.close();
+    }
+
     // --- Initialization Views ---
 
     private void initMenuView() {
@@ -122,15 +160,63 @@ public class AI_Project extends Application {
             diffCombo.setDisable(!vsComp);
         });
 
+        // Board size and walls per player
+        Label boardLabel = new Label("Board:");
+        ComboBox<String> sizeCombo = new ComboBox<>();
+        sizeCombo.getItems().addAll(BOARD_SIZES);
+        sizeCombo.setValue(Variant.STANDARD.size() + "x" + Variant.STANDARD.size());
+        ComboBox<Integer> wallsCombo = new ComboBox<>();
+        for (int w = 0; w <= 20; w++) wallsCombo.getItems().add(w);
+        wallsCombo.setValue(Variant.STANDARD.walls());
+        // Each size suggests its usual wall count; it can still be changed afterwards
+        sizeCombo.setOnAction(e -> wallsCombo.setValue(Variant.parse(sizeCombo.getValue()).walls()));
+        HBox boardBox = new HBox(10, sizeCombo, new Label("Walls:"), wallsCombo);
+        boardBox.setAlignment(Pos.CENTER);
+
+        // Mode and difficulty apply to new, resumed and loaded games alike
+        Runnable applyChoices = () -> {
+            isVsComputer = modeCombo.getValue().equals("Human vs. Computer");
+            aiDifficulty = diffCombo.getValue();
+        };
+
         Button startButton = new Button("START GAME");
         startButton.setStyle("-fx-font-size: 18px; -fx-background-color: #3E2723; -fx-text-fill: white; -fx-padding: 10 30;");
         startButton.setOnAction(e -> {
-            isVsComputer = modeCombo.getValue().equals("Human vs. Computer");
-            aiDifficulty = diffCombo.getValue();
-            startGame();
+            applyChoices.run();
+            startGame(Variant.of(Variant.parse(sizeCombo.getValue()).size(), wallsCombo.getValue()));
+        });
+
+        // Offered only while the previous session's autosave is still on disk
+        resumeButton = new Button("Resume Last Game");
+        resumeButton.setOnAction(e -> {
+            applyChoices.run();
+            startGame(recovered);
         });
+        resumeButton.setVisible(recovered != null);
+        resumeButton.setManaged(recovered != null);
+
+        Button loadButton = new Button("Load Game...");
+        loadButton.setOnAction(e -> {
+            applyChoices.run();
+            handleLoad();
+        });
+
+        HBox gameButtons = new HBox(10, resumeButton, loadButton);
+        gameButtons.setAlignment(Pos.CENTER);
 
-        menuPane.getChildren().addAll(title, modeLabel, modeCombo, diffLabel, diffCombo, startButton);
+        menuPane.getChildren().addAll(title, modeLabel, modeCombo, diffLabel, diffCombo, boardLabel, boardBox, startButton, gameButtons);
+    }
+
+    /** The game in the autosave file if it has any moves, else null; read before anything overwrites it. */
+    private static GameRecord readAutosave() {
+        if (!Files.isRegularFile(AUTOSAVE_FILE)) return null;
+        try {
+            GameRecord game = GameRecord.read(AUTOSAVE_FILE);
+            return game.ply() > 0 ? game : null;
+        } catch (IOException e) {
+            System.err.println("Ignoring autosave: " + e.getMessage());
+            return null;
+        }
     }
 
     private void initGameView() {
@@ -158,6 +244,7 @@ public class AI_Project extends Application {
         boardGrid.setAlignment(Pos.CENTER);
         boardGrid.setBackground(new Background(new BackgroundFill(COLOR_BG, new CornerRadii(5), Insets.EMPTY)));
         boardGrid.setPadding(new Insets(10));
+        buildBoardGrid();
         gamePane.setCenter(boardGrid);
 
         // --- Controls (Bottom) ---
@@ -182,8 +269,14 @@ public class AI_Project extends Application {
         btnRedo.setDisable(true);
         
         Button btnReset = new Button("Reset");
-        btnReset.setOnAction(e -> startGame()); // Restart match
+        btnReset.setOnAction(e -> startGame(variant)); // Restart match
         
+        Button btnSave = new Button("Save");
+        btnSave.setOnAction(e -> handleSave());
+
+        Button btnLoad = new Button("Load");
+        btnLoad.setOnAction(e -> handleLoad());
+
         Button menuButton = new Button("Menu");
         menuButton.setOnAction(e -> showMenu());
 
@@ -192,6 +285,8 @@ public class AI_Project extends Application {
             new Separator(javafx.geometry.Orientation.VERTICAL),
             btnUndo, btnRedo,
             new Separator(javafx.geometry.Orientation.VERTICAL),
+            btnSave, btnLoad,
+            new Separator(javafx.geometry.Orientation.VERTICAL),
             btnReset, menuButton
         );
         gamePane.setBottom(controls);
@@ -207,23 +302,38 @@ public class AI_Project extends Application {
     // --- State Management ---
 
     private void showMenu() {
+        cancelThinking();
+        if (aiBot != null) aiBot.stopPondering();
         gamePane.setVisible(false);
         menuPane.setVisible(true);
     }
 
-    private void startGame() {
+    private void startGame(Variant rules) {
+        startGame(new GameRecord(rules));
+    }
+
+    /** Sets up the players of the chosen mode and plays on from {@code game}'s current position. */
+    private void startGame(GameRecord game) {
         // Initialize logic
-        board = new QuoridorBoard();
-        undoStack.clear();
-        redoStack.clear();
-        updateUndoRedoButtons();
+        cancelThinking();
+        if (aiBot != null) aiBot.stopPondering();
+        newRecord(game);
+        // The autosave now follows this game, so the old one is gone
+        recovered = null;
+        resumeButton.setVisible(false);
+        resumeButton.setManaged(false);
         
         // Configure Mode & Names
         if (isVsComputer) {
-            aiBot = new AIBot(2, aiDifficulty);
+            // Kept across games of the same difficulty, with its transposition table and threads
+            if (aiBot == null || !aiBot.difficulty().equalsIgnoreCase(aiDifficulty)) {
+                if (aiBot != null) aiBot.close();
+                aiBot = new AIBot(2, aiDifficulty);
+            }
             p1Name = "Human";
             p2Name = "Bot";
         } else {
+            if (aiBot != null) aiBot.close();
             aiBot = null;
             p1Name = "Player 1";
             p2Name = "Player 2";
@@ -233,31 +343,47 @@ public class AI_Project extends Application {
         // Show Game
         menuPane.setVisible(false);
         gamePane.setVisible(true);
-        updateHUD(p1Name + "'s Turn");
         renderBoard();
+        if (checkGameStatus()) return;
+        if (isVsComputer && board.getToMove() == 2) {
+            triggerAITurn();
+        } else {
+            if (aiBot != null && record.ply() > 0) aiBot.ponder(board);
+            updateHUD((board.getToMove() == 1 ? p1Name : p2Name) + "'s Turn");
+        }
     }
     
-    // --- Undo / Redo Logic ---
-
-    private void saveStateForUndo() {
-        undoStack.push(board);
-        redoStack.clear(); 
+    /** Makes {@code next} the game on the board and autosaves it from now on. */
+    private void newRecord(GameRecord next) {
+        record.close();
+        record = next;
+        board = record.current();
+        if (record.variant() != variant) {
+            variant = record.variant();
+            buildBoardGrid();
+        }
+        try {
+            record.autosaveTo(AUTOSAVE_FILE);
+        } catch (IOException e) {
+            System.err.println("Autosave disabled: " + e.getMessage());
+        }
         updateUndoRedoButtons();
     }
 
+    // --- Undo / Redo Logic ---
+
     private void handleUndo() {
-        if (undoStack.isEmpty() || isProcessingTurn) return;
+        if (!record.canUndo()) return;
+        cancelThinking(); // undoing the move the bot is answering
 
-        redoStack.push(board);
-        board = undoStack.pop();
+        board = record.undo();
 
         // Smart Undo for PvAI: Undo twice to skip back to Human turn
-        if (isVsComputer && board.getToMove() == 2) {
-            if (!undoStack.isEmpty()) {
-                redoStack.push(board);
-                board = undoStack.pop();
-            }
+        if (isVsComputer && board.getToMove() == 2 && record.canUndo()) {
+            board = record.undo();
         }
+        // Whatever the bot pondered belongs to the old position
+        if (aiBot != null) aiBot.ponder(board);
 
         renderBoard();
         String name = (board.getToMove() == 1) ? p1Name : p2Name;
@@ -266,136 +392,240 @@ public class AI_Project extends Application {
     }
 
     private void handleRedo() {
-        if (redoStack.isEmpty() || isProcessingTurn) return;
+        if (!record.canRedo()) return;
+        cancelThinking();
 
-        undoStack.push(board);
-        board = redoStack.pop();
+        board = record.redo();
 
         // Smart Redo for PvAI: Redo twice to include AI turn
-        if (isVsComputer && board.getToMove() == 2) {
-            if (!redoStack.isEmpty()) {
-                undoStack.push(board);
-                board = redoStack.pop();
-            }
+        if (isVsComputer && board.getToMove() == 2 && record.canRedo()) {
+            board = record.redo();
         }
+        if (aiBot != null) aiBot.ponder(board);
 
         renderBoard();
         String name = (board.getToMove() == 1) ? p1Name : p2Name;
         updateHUD(name + "'s Turn");
         updateUndoRedoButtons();
+
+        // Redone up to a human move the bot never answered
+        if (isVsComputer && board.getToMove() == 2 && !checkGameStatus()) triggerAITurn();
     }
 
     private void updateUndoRedoButtons() {
-        btnUndo.setDisable(undoStack.isEmpty());
-        btnRedo.setDisable(redoStack.isEmpty());
+        btnUndo.setDisable(!record.canUndo());
+        btnRedo.setDisable(!record.canRedo());
+    }
+
+    // --- Save / Load ---
+
+    private FileChooser createGameChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Quoridor game (*.qrec)", "*.qrec"),
+            new FileChooser.ExtensionFilter("Move list (*.txt)", "*.txt"));
+        return chooser;
+    }
+
+    private void handleSave() {
+        File file = createGameChooser("Save Game").showSaveDialog(gamePane.getScene().getWindow());
+        if (file == null) return;
+        try {
+            // Text files hold the move list ("e2 e8 e3h ..."), anything else the binary record
+            if (file.getName().endsWith(".txt")) Files.writeString(file.toPath(), record.toText());
+            else record.write(file.toPath());
+            updateHUD("Game saved");
+        } catch (IOException e) {
+            updateHUD("Save failed: " + e.getMessage());
+        }
+    }
+
+    /** Opens a saved game and plays on from its last position; reachable from the menu and the game. */
+    private void handleLoad() {
+        File file = createGameChooser("Load Game").showOpenDialog(rootLayout.getScene().getWindow());
+        if (file == null) return;
+        GameRecord loaded;
+        try {
+            loaded = file.getName().endsWith(".txt")
+                ? GameRecord.parse(Files.readString(file.toPath()))
+                : GameRecord.read(file.toPath());
+        } catch (IOException | IllegalArgumentException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "Load failed: " + e.getMessage());
+            alert.setHeaderText("Load Game");
+            alert.show();
+            return;
+        }
+        startGame(loaded);
     }
 
     // --- Rendering Logic ---
 
-    private void renderBoard() {
+    /**
+     * Creates every cell, gap, wall and pawn node of {@link #variant}'s board; {@link #renderBoard} only
+     * updates them. Runs again only when a game on another board size starts.
+     */
+    private void buildBoardGrid() {
+        int n = variant.size();
         boardGrid.getChildren().clear();
-        QuoridorBoard qb = (QuoridorBoard) board;
-        int activePlayer = board.getToMove();
-        
-        // Only allow input if human turn and not currently thinking
-        boolean isHumanMoving = !isProcessingTurn && (!isVsComputer || activePlayer == 1);
-        List<Move> legalMoves = isHumanMoving ? board.getLegalMoves(activePlayer) : List.of();
-
-        // 1. Draw Cells
-        for (int r = 0; r < 9; r++) {
-            for (int c = 0; c < 9; c++) {
-                Rectangle cell = new Rectangle(CELL_SIZE, CELL_SIZE);
+        cells = new Rectangle[n][n];
+        highlighted = new boolean[n][n];
+        placedWallsH = new Rectangle[n - 1][n - 1];
+        placedWallsV = new Rectangle[n - 1][n - 1];
+        // The board keeps its pixel size, so cells and gaps shrink on larger boards
+        double scale = BOARD_PIXEL_SIZE / (double) (n * CELL_SIZE + (n - 1) * GAP_SIZE);
+        double cellSize = CELL_SIZE * scale, gapSize = GAP_SIZE * scale;
+
+        // 1. Cells
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                Rectangle cell = new Rectangle(cellSize, cellSize);
                 cell.setFill(COLOR_CELL);
-                cell.setArcWidth(10); cell.setArcHeight(10); 
+                cell.setArcWidth(10); cell.setArcHeight(10);
 
-                // Highlight valid pawn moves
-                for (Move m : legalMoves) {
-                    if (m.kind() == MoveKind.PAWN && m.row() == r && m.col() == c) {
-                        cell.setFill(COLOR_HIGHLIGHT);
-                    }
-                }
-
-                // Click Handler
                 final int row = r;
                 final int col = c;
                 cell.setOnMouseClicked(e -> {
-                    if (isHumanMoving) handlePawnClick(row, col);
+                    if (isHumanMoving()) handlePawnClick(row, col);
                 });
-
+                cells[r][c] = cell;
                 boardGrid.add(cell, c * 2, r * 2);
-
-                // Draw Pawns
-                if (qb.getP1Pos().row() == r && qb.getP1Pos().col() == c) {
-                    drawPawn(COLOR_P1, c, r);
-                } else if (qb.getP2Pos().row() == r && qb.getP2Pos().col() == c) {
-                    drawPawn(COLOR_P2, c, r);
-                }
             }
         }
 
-        // 2. Draw Gaps (Interactive)
-        for (int r = 0; r < 9; r++) {
-            for (int c = 0; c < 8; c++) {
-                Rectangle vGap = new Rectangle(GAP_SIZE, CELL_SIZE);
-                vGap.setFill(Color.TRANSPARENT);
-                final int row = r;
-                final int col = c;
-                boolean finalIsHumanMoving = isHumanMoving;
-                
-                vGap.setOnMouseEntered(e -> { if(finalIsHumanMoving) vGap.setFill(COLOR_WALL_PREVIEW); });
-                vGap.setOnMouseExited(e -> vGap.setFill(Color.TRANSPARENT));
-                vGap.setOnMouseClicked(e -> { 
-                    if (finalIsHumanMoving) handleWallClick(row, col, WallOrientation.VERTICAL); 
-                });
-                boardGrid.add(vGap, c * 2 + 1, r * 2);
+        // 2. Gaps (Interactive): the ghost wall only shows where the selected wall is legal
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n - 1; c++) {
+                boardGrid.add(createGap(gapSize, cellSize, r, c, WallOrientation.VERTICAL), c * 2 + 1, r * 2);
             }
         }
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 9; c++) {
-                Rectangle hGap = new Rectangle(CELL_SIZE, GAP_SIZE);
-                hGap.setFill(Color.TRANSPARENT);
-                final int row = r;
-                final int col = c;
-                boolean finalIsHumanMoving = isHumanMoving;
-                
-                hGap.setOnMouseEntered(e -> { if(finalIsHumanMoving) hGap.setFill(COLOR_WALL_PREVIEW); });
-                hGap.setOnMouseExited(e -> hGap.setFill(Color.TRANSPARENT));
-                hGap.setOnMouseClicked(e -> { 
-                    if (finalIsHumanMoving) handleWallClick(row, col, WallOrientation.HORIZONTAL); 
-                });
-                boardGrid.add(hGap, c * 2, r * 2 + 1);
+        for (int r = 0; r < n - 1; r++) {
+            for (int c = 0; c < n; c++) {
+                boardGrid.add(createGap(cellSize, gapSize, r, c, WallOrientation.HORIZONTAL), c * 2, r * 2 + 1);
             }
         }
 
-        // 3. Draw Placed Walls
-        for (ai_project.board.model.Pos p : qb.getWallsH()) {
-            Rectangle w = new Rectangle((CELL_SIZE * 2) + GAP_SIZE, GAP_SIZE, COLOR_WALL_PLACED);
-            w.setArcWidth(5); w.setArcHeight(5);
-            w.setEffect(new DropShadow(5, Color.BLACK));
-            boardGrid.add(w, p.col() * 2, p.row() * 2 + 1);
-            GridPane.setColumnSpan(w, 3);
-        }
-        for (ai_project.board.model.Pos p : qb.getWallsV()) {
-            Rectangle w = new Rectangle(GAP_SIZE, (CELL_SIZE * 2) + GAP_SIZE, COLOR_WALL_PLACED);
-            w.setArcWidth(5); w.setArcHeight(5);
-            w.setEffect(new DropShadow(5, Color.BLACK));
-            boardGrid.add(w, p.col() * 2 + 1, p.row() * 2);
-            GridPane.setRowSpan(w, 3);
+        // 3. Walls, hidden until placed; one shared shadow effect for all of them
+        DropShadow wallShadow = new DropShadow(5, Color.BLACK);
+        for (int r = 0; r < n - 1; r++) {
+            for (int c = 0; c < n - 1; c++) {
+                Rectangle h = new Rectangle((cellSize * 2) + gapSize, gapSize, COLOR_WALL_PLACED);
+                h.setArcWidth(5); h.setArcHeight(5);
+                h.setEffect(wallShadow);
+                h.setVisible(false);
+                boardGrid.add(h, c * 2, r * 2 + 1);
+                GridPane.setColumnSpan(h, 3);
+                placedWallsH[r][c] = h;
+
+                Rectangle v = new Rectangle(gapSize, (cellSize * 2) + gapSize, COLOR_WALL_PLACED);
+                v.setArcWidth(5); v.setArcHeight(5);
+                v.setEffect(wallShadow);
+                v.setVisible(false);
+                boardGrid.add(v, c * 2 + 1, r * 2);
+                GridPane.setRowSpan(v, 3);
+                placedWallsV[r][c] = v;
+            }
         }
 
-        // Update Wall Counts
-        p1WallLabel.setText(p1Name + " Walls: " + qb.getP1Walls() + " / 10");
-        p2WallLabel.setText(p2Name + " Walls: " + qb.getP2Walls() + " / 10");
+        // 4. Pawns, moved between cells rather than recreated
+        p1Pawn = createPawn(COLOR_P1, PAWN_SIZE * scale);
+        p2Pawn = createPawn(COLOR_P2, PAWN_SIZE * scale);
     }
-    
-    private void drawPawn(Color color, int c, int r) {
-        Rectangle pawn = new Rectangle(30, 30, color);
-        pawn.setArcWidth(30); pawn.setArcHeight(30);
+
+    private Rectangle createGap(double width, double height, int row, int col, WallOrientation gapOrientation) {
+        Rectangle gap = new Rectangle(width, height);
+        gap.setFill(Color.TRANSPARENT);
+        gap.setOnMouseEntered(e -> {
+            if (isHumanMoving() && legalMoves().contains(Move.wall(row, col, selectedOrientation()))) {
+                gap.setFill(COLOR_WALL_PREVIEW);
+            }
+        });
+        gap.setOnMouseExited(e -> gap.setFill(Color.TRANSPARENT));
+        gap.setOnMouseClicked(e -> {
+            if (isHumanMoving()) handleWallClick(row, col, gapOrientation);
+        });
+        return gap;
+    }
+
+    private Rectangle createPawn(Color color, double size) {
+        Rectangle pawn = new Rectangle(size, size, color);
+        pawn.setArcWidth(size); pawn.setArcHeight(size);
         pawn.setStroke(Color.WHITE);
         pawn.setStrokeWidth(2);
         pawn.setEffect(new DropShadow(3, Color.BLACK));
-        boardGrid.add(pawn, c * 2, r * 2);
+        pawn.setMouseTransparent(true); // clicks go to the cell underneath
+        boardGrid.add(pawn, 0, 0);
         GridPane.setHalignment(pawn, javafx.geometry.HPos.CENTER);
+        return pawn;
+    }
+
+    /** Brings the scene graph in line with {@link #board}, touching only nodes whose state changed. */
+    private void renderBoard() {
+        QuoridorBoard qb = (QuoridorBoard) board;
+
+        // 1. Highlight valid pawn moves (only if human turn and not currently thinking)
+        Set<Move> legal = isHumanMoving() ? legalMoves() : Set.of();
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cells.length; c++) {
+                boolean valid = legal.contains(Move.pawn(r, c));
+                if (valid != highlighted[r][c]) {
+                    cells[r][c].setFill(valid ? COLOR_HIGHLIGHT : COLOR_CELL);
+                    highlighted[r][c] = valid;
+                }
+            }
+        }
+
+        // 2. Pawns
+        movePawn(p1Pawn, qb.getP1Pos());
+        movePawn(p2Pawn, qb.getP2Pos());
+
+        // 3. Placed Walls (undo can remove them, so sync both ways)
+        syncWalls(placedWallsH, qb.getWallsH());
+        syncWalls(placedWallsV, qb.getWallsV());
+
+        // Update Wall Counts
+        setTextIfChanged(p1WallLabel, p1Name + " Walls: " + qb.getP1Walls() + " / " + variant.walls());
+        setTextIfChanged(p2WallLabel, p2Name + " Walls: " + qb.getP2Walls() + " / " + variant.walls());
+    }
+
+    private void movePawn(Rectangle pawn, ai_project.board.model.Pos p) {
+        Integer col = p.col() * 2, row = p.row() * 2;
+        if (!col.equals(GridPane.getColumnIndex(pawn))) GridPane.setColumnIndex(pawn, col);
+        if (!row.equals(GridPane.getRowIndex(pawn))) GridPane.setRowIndex(pawn, row);
+    }
+
+    private void syncWalls(Rectangle[][] walls, Set<ai_project.board.model.Pos> placed) {
+        for (int r = 0; r < walls.length; r++) {
+            for (int c = 0; c < walls.length; c++) {
+                boolean show = placed.contains(ai_project.board.model.Pos.of(r, c));
+                if (walls[r][c].isVisible() != show) walls[r][c].setVisible(show);
+            }
+        }
+    }
+
+    private void setTextIfChanged(Label label, String text) {
+        if (!text.equals(label.getText())) label.setText(text);
+    }
+
+    /** Input is only accepted on a human turn while the bot is not thinking. */
+    private boolean isHumanMoving() {
+        return !isProcessingTurn && !board.isTerminal() && (!isVsComputer || board.getToMove() == 1);
+    }
+
+    private WallOrientation selectedOrientation() {
+        return rbHorizontal.isSelected() ? WallOrientation.HORIZONTAL : WallOrientation.VERTICAL;
+    }
+
+    /**
+     * Legal moves of the side to move as a hash set, generated once per position and shared by
+     * highlighting, the wall preview and click validation.
+     */
+    private Set<Move> legalMoves() {
+        if (legalMoves == null || legalMovesKey != board.zobristKey()) {
+            legalMoves = new HashSet<>(board.getLegalMoves(board.getToMove()));
+            legalMovesKey = board.zobristKey();
+        }
+        return legalMoves;
     }
 
     // --- Move Execution ---
@@ -414,8 +644,7 @@ public class AI_Project extends Application {
         if (isProcessingTurn || board.isTerminal()) return;
         
         // Prioritize Radio Button selection, otherwise use clicked gap orientation
-        WallOrientation orientation = rbHorizontal.isSelected() ? 
-                                      WallOrientation.HORIZONTAL : WallOrientation.VERTICAL;
+        WallOrientation orientation = selectedOrientation();
         
         Move move = Move.wall(r, c, orientation);
         int currentPlayer = board.getToMove();
@@ -428,13 +657,13 @@ public class AI_Project extends Application {
     }
 
     private boolean isMoveLegal(Move m, int pid) {
-        return board.getLegalMoves(pid).contains(m);
+        // Checks just this move; the full set is only built for highlighting
+        return pid == board.getToMove() && board.isLegal(m);
     }
 
     private void executeMove(Move move) {
-        saveStateForUndo();
-        
-        board = board.applyMove(move);
+        board = record.play(move);
+        updateUndoRedoButtons();
         renderBoard();
         
         if (checkGameStatus()) return;
@@ -454,39 +683,43 @@ public class AI_Project extends Application {
     private void triggerAITurn() {
         isProcessingTurn = true;
         updateHUD(p2Name + " is thinking...");
-        
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                // Short delay for visual pacing
-                Thread.sleep(700); 
-                Move aiMove = aiBot.chooseMove(board);
-                return aiMove;
-            } catch (Exception e) {
-                e.printStackTrace();
-                return null;
-            }
-        }).thenAccept(aiMove -> {
+
+        EngineService.SearchHandle handle = engine.think(aiBot, board, (depth, best, score) ->
             Platform.runLater(() -> {
-                if (aiMove != null) {
-                    try {
-                        // Save state BEFORE AI moves so Undo works
-                        undoStack.push(board);
-                        redoStack.clear();
-                        updateUndoRedoButtons();
-                        
-                        board = board.applyMove(aiMove);
-                        if (!checkGameStatus()) {
-                            updateHUD(p1Name + "'s Turn");
-                        }
-                    } catch(Exception ex) {
-                        ex.printStackTrace();
-                        updateHUD("AI Error");
-                    }
+                if (thinking != null && thinking.positionKey() == board.zobristKey())
+                    updateHUD(p2Name + " is thinking... (depth " + depth + ")");
+            }));
+        thinking = handle;
+
+        handle.result().whenComplete((decision, error) -> Platform.runLater(() -> {
+            // Reset, undo or the menu may have moved on while the bot was thinking
+            if (handle != thinking || !handle.isFor(board)) return;
+            thinking = null;
+            if (error != null) {
+                error.printStackTrace();
+                updateHUD("AI Error");
+            } else if (decision.move() != null) {
+                // Recorded like any move, so Undo works
+                board = record.play(decision.move());
+                updateUndoRedoButtons();
+                if (!checkGameStatus()) {
+                    updateHUD(p1Name + "'s Turn");
+                    // Think about our next move while the human thinks about theirs
+                    aiBot.ponder(board);
                 }
-                isProcessingTurn = false; 
-                renderBoard(); 
-            });
-        });
+            }
+            isProcessingTurn = false;
+            renderBoard();
+        }));
+    }
+
+    /** Abandons the bot's running search, if any; its move will never be applied. */
+    private void cancelThinking() {
+        if (thinking != null) {
+            thinking.cancel();
+            thinking = null;
+        }
+        isProcessingTurn = false;
     }
 
     private boolean checkGameStatus() {
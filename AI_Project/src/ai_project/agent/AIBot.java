@@ -4,42 +4,258 @@ import ai_project.board.Board;
 import ai_project.board.model.Move;
 import ai_project.eval.EvaluationFunction;
 import ai_project.eval.PathLengthEvaluation;
-import ai_project.search.MinimaxSearch;
+import ai_project.search.EndgameSolver;
+import ai_project.search.OpeningBook;
+import ai_project.search.ParallelSearch;
+import ai_project.search.SearchLimits;
+import ai_project.search.SearchListener;
+import ai_project.search.SearchStats;
 import ai_project.search.SearchStrategy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class AIBot implements AutoCloseable {
+
+    /** Where a move came from; {@code PONDER} is a search run on the opponent's time. */
+    public enum Source { RANDOM, BOOK, ENDGAME, SEARCH, PONDER }
+
+    /** A chosen move (null without legal moves) and, for {@link Source#SEARCH}, a copy of the search counters. */
+    public record Decision(Move move, Source source, SearchStats stats) { }
 
-public final class AIBot {
     private final int playerId;
-    private int depth;
+    private final SearchLimits limits;
     private final SearchStrategy search;
     private final EvaluationFunction eval;
-    private final Random rng = new Random();
+    private final Random rng;
     private final String difficulty;
+    private final OpeningBook book;
+    private final EndgameSolver endgame = new EndgameSolver();
+    // The search this bot built itself, closed with it
+    private ParallelSearch ownSearch;
+    // Held by every search of this bot: decisions and pondering share one search and endgame solver,
+    // and neither is reentrant. A cancelled decision can still be unwinding when pondering starts.
+    // Fair, so a decision waits for at most the ponder search in progress.
+    private final ReentrantLock searchLock = new ReentrantLock(true);
+
+    // Pondering: one background thread, answers keyed by the position after the opponent's reply. Each
+    // ponder fills its own map, so a cancelled one still unwinding never writes into the next one's.
+    private volatile Map<Long, Decision> pondered = new ConcurrentHashMap<>();
+    private ExecutorService ponderThread;
+    private Future<?> pondering;
+    private AtomicBoolean ponderCancelled;
 
     public AIBot(int playerId, String difficulty) {
+        // Lazy SMP over up to 8 cores; keeps its transposition table across turns
+        this(playerId, difficulty, new ParallelSearch(Math.min(8, Runtime.getRuntime().availableProcessors())));
+        ownSearch = (ParallelSearch) search;
+    }
+
+    public AIBot(int playerId, String difficulty, SearchStrategy search) {
+        this(playerId, difficulty, search, null, new Random(), OpeningBook.openDefault());
+    }
+
+    /**
+     * For headless play: a non-null {@code limits} replaces the difficulty's time budget, a seeded
+     * {@code rng} makes easy mode's random moves reproducible, and {@code book} may be null.
+     */
+    public AIBot(int playerId, String difficulty, SearchStrategy search, SearchLimits limits, Random rng,
+                 OpeningBook book) {
         this.playerId = playerId;
-        this.search = new MinimaxSearch();
+        this.rng = rng;
+        this.book = book;
+        this.search = search;
         this.eval = new PathLengthEvaluation();
         this.difficulty = difficulty.toLowerCase();
         
-        this.depth = switch (this.difficulty) {
-            case "easy"   -> 1; // Random/Greedy
-            case "medium" -> 2; // Basic Strategy
-            case "hard"   -> 3; // Deep Strategy (Looks 3 moves ahead)
-            default       -> 2;
+        // Difficulty is a thinking-time budget; iterative deepening goes as deep as the machine allows
+        this.limits = limits != null ? limits : switch (this.difficulty) {
+            case "easy"   -> SearchLimits.time(50);   // Random/Greedy
+            case "medium" -> SearchLimits.time(300);  // Basic Strategy
+            case "hard"   -> SearchLimits.time(1500); // Deep Strategy
+            default       -> SearchLimits.time(300);
         };
     }
 
+    /** Difficulty as given, in lower case. */
+    public String difficulty() { return difficulty; }
+
     public Move chooseMove(Board board) {
+        return decide(board).move();
+    }
+
+    public Decision decide(Board board) {
+        return decide(board, null, new AtomicBoolean());
+    }
+
+    /**
+     * Chooses a move, reporting search progress to {@code listener} (may be null). Setting {@code stop}
+     * makes a running or upcoming search return its best move so far.
+     */
+    public Decision decide(Board board, SearchListener listener, AtomicBoolean stop) {
+        // Cancelled before it began: leave pondering started since then alone
+        if (stop.get()) return new Decision(null, Source.SEARCH, null);
+        // Stop pondering rather than queue behind it on the search lock, and let it unwind on this thread
+        awaitPondering(haltPondering());
         List<Move> legal = board.getLegalMoves(playerId);
-        if (legal.isEmpty()) return null;
+        if (legal.isEmpty()) return new Decision(null, Source.SEARCH, null);
 
         // Easy Mode: 30% chance to make a random bad move
         if ("easy".equals(difficulty) && rng.nextDouble() < 0.3) {
-            return legal.get(rng.nextInt(legal.size()));
+            return new Decision(legal.get(rng.nextInt(legal.size())), Source.RANDOM, null);
+        }
+
+        Map<Long, Decision> answers = pondered;
+        Decision hit = board.getToMove() == playerId ? answers.get(board.zobristKey()) : null;
+        answers.clear();
+        if (hit != null && legal.contains(hit.move())) return new Decision(hit.move(), Source.PONDER, hit.stats());
+
+        Decision d = think(board, legal, listener, stop);
+        return d != null ? d : new Decision(null, Source.SEARCH, null);
+    }
+
+    /**
+     * Endgame solver, book, then search; null only if a search returned no move. The solver goes first:
+     * its answers are exact, while a book entry is only as good as the search that made it.
+     */
+    private Decision think(Board board, List<Move> legal, SearchListener listener, AtomicBoolean stop) {
+        searchLock.lock();
+        try {
+            // Once walls are spent (or only ours remain and we win anyway) the race is solved exactly
+            Move solved = endgame.solve(board, playerId);
+            if (solved != null) return new Decision(solved, Source.ENDGAME, null);
+
+            // Book moves are keyed by hash only, so make sure the move is legal here
+            if (book != null && board.getToMove() == playerId) {
+                Move m = book.lookup(board);
+                if (m != null && legal.contains(m)) return new Decision(m, Source.BOOK, null);
+            }
+            return searchMove(board, listener, stop);
+        } finally {
+            searchLock.unlock();
         }
+    }
 
-        return search.chooseMove(board, playerId, depth, eval);
+    private Decision searchMove(Board board, SearchListener listener, AtomicBoolean stop) {
+        search.setListener(listener);
+        Move m;
+        try {
+            m = search.chooseMove(board, playerId, limits, eval, stop);
+        } finally {
+            search.setListener(null);
+        }
+        if (m == null) return null;
+        SearchStats stats = search.lastStats();
+        return new Decision(m, Source.SEARCH, stats == null ? null : stats.copy());
+    }
+
+    /**
+     * Starts thinking on the opponent's time: with the opponent to move in {@code board}, searches our
+     * answer to its predicted reply first, then to every other reply, in the background. A later
+     * {@link #decide} on one of those positions returns at once. Replaces any earlier pondering; never
+     * blocks, so it is safe on the UI thread.
+     */
+    public synchronized void ponder(Board board) {
+        stopPondering();
+        if (board.isTerminal() || board.getToMove() == playerId || "easy".equals(difficulty)) return;
+        if (ponderThread == null) {
+            // Idle thread times out, so abandoned bots do not pin it
+            ThreadPoolExecutor tpe = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "ai-ponder");
+                t.setDaemon(true);
+                return t;
+            });
+            tpe.allowCoreThreadTimeOut(true);
+            ponderThread = tpe;
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Map<Long, Decision> answers = new ConcurrentHashMap<>();
+        ponderCancelled = cancelled;
+        pondered = answers;
+        // A cancelled ponder still unwinding runs first: the wait happens on the ponder thread
+        pondering = ponderThread.submit(() -> ponderReplies(board, cancelled, answers));
+    }
+
+    /**
+     * Cancels pondering and forgets its results, e.g. after undo, redo or a new game. Returns at once;
+     * the background search stops at its next budget check.
+     */
+    public synchronized void stopPondering() {
+        haltPondering();
+        pondered = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Stops pondering and releases the bot's threads: the pondering thread and the helpers of a search
+     * it built itself (a search passed in stays with the caller). The bot must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        stopPondering();
+        if (ponderThread == null) {
+            if (ownSearch != null) ownSearch.close();
+            return;
+        }
+        // Queued behind a ponder search still unwinding, so the search is not closed under it
+        if (ownSearch != null) ponderThread.execute(ownSearch::close);
+        ponderThread.shutdown();
+    }
+
+    /** Tells the background search to stop, keeping what it finished; returns its future, or null. */
+    private synchronized Future<?> haltPondering() {
+        Future<?> f = pondering;
+        if (f == null) return null;
+        // The flag is the stop token of every ponder search, so it also catches one about to start
+        ponderCancelled.set(true);
+        pondering = null;
+        return f;
+    }
+
+    /** Waits for a halted ponder to unwind; called on the deciding thread only. */
+    private static void awaitPondering(Future<?> f) {
+        if (f == null) return;
+        try {
+            f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // pondering is best effort; decide() searches normally
+        }
+    }
+
+    private void ponderReplies(Board board, AtomicBoolean cancelled, Map<Long, Decision> answers) {
+        int opponentId = board.getToMove();
+        List<Move> replies = new ArrayList<>(board.getLegalMoves(opponentId));
+        // Predicted reply first: the opponent's choice under a quarter of our budget
+        SearchLimits predictLimits = limits.timeMillis() > 0 ? SearchLimits.time(Math.max(1, limits.timeMillis() / 4)) : limits;
+        Move predicted;
+        searchLock.lock();
+        try {
+            predicted = search.chooseMove(board, opponentId, predictLimits, eval, cancelled);
+        } finally {
+            searchLock.unlock();
+        }
+        if (predicted != null && replies.remove(predicted)) replies.add(0, predicted);
+
+        for (Move reply : replies) {
+            if (cancelled.get()) return;
+            Board next = board.applyMove(reply);
+            if (next.isTerminal()) continue;
+            List<Move> legal = next.getLegalMoves(playerId);
+            if (legal.isEmpty()) continue;
+            Decision d = think(next, legal, null, cancelled);
+            // Book and endgame answers are instant anyway; an aborted search is shallower, so drop it
+            if (d != null && d.source() == Source.SEARCH && !cancelled.get()) answers.put(next.zobristKey(), d);
+        }
     }
 }
\ No newline at end of file
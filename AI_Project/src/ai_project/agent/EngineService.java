@@ -0,0 +1,86 @@
+package ai_project.agent;
+
+import ai_project.board.Board;
+import ai_project.search.SearchListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs bot decisions off the UI thread on one dedicated engine thread (never the common pool), one at a
+ * time in submission order. Each request returns a {@link SearchHandle}: cancelling it stops the search
+ * at its next abort check, and its result is only delivered if it still belongs to the position on screen.
+ */
+public final class EngineService implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    public EngineService() {
+        // Idle thread times out, so an unused service does not pin it
+        ThreadPoolExecutor tpe = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "ai-engine");
+            t.setDaemon(true);
+            return t;
+        });
+        tpe.allowCoreThreadTimeOut(true);
+        executor = tpe;
+    }
+
+    /** A submitted decision: its result, cancellation, and the position it was asked for. */
+    public static final class SearchHandle {
+        private final long positionKey;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final CompletableFuture<AIBot.Decision> result = new CompletableFuture<>();
+
+        private SearchHandle(long positionKey) { this.positionKey = positionKey; }
+
+        /** Zobrist key of the searched position (includes the side to move). */
+        public long positionKey() { return positionKey; }
+
+        /** Completes with the decision, or is cancelled when {@link #cancel} wins the race. */
+        public CompletableFuture<AIBot.Decision> result() { return result; }
+
+        /** Stops the search; its move, if any, is never delivered. Safe to call from any thread. */
+        public void cancel() {
+            stop.set(true);
+            result.cancel(false);
+        }
+
+        public boolean isCancelled() { return stop.get(); }
+
+        /** True if the result may be applied to {@code board}: not cancelled and still the same position. */
+        public boolean isFor(Board board) {
+            return !stop.get() && board.zobristKey() == positionKey;
+        }
+    }
+
+    /**
+     * Queues a decision by {@code bot} on {@code board}; {@code progress} (may be null) hears about every
+     * completed iteration on the engine thread. A handle cancelled before its turn never starts searching.
+     */
+    public SearchHandle think(AIBot bot, Board board, SearchListener progress) {
+        SearchHandle handle = new SearchHandle(board.zobristKey());
+        executor.execute(() -> {
+            if (handle.stop.get()) return;
+            try {
+                SearchListener listener = progress == null ? null : (depth, best, score) -> {
+                    if (!handle.stop.get()) progress.onIteration(depth, best, score);
+                };
+                AIBot.Decision d = bot.decide(board, listener, handle.stop);
+                // A stopped search returns its best move so far; that move is stale by definition
+                if (!handle.stop.get()) handle.result.complete(d);
+            } catch (RuntimeException | Error e) {
+                handle.result.completeExceptionally(e);
+            }
+        });
+        return handle;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
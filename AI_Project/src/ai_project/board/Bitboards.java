@@ -0,0 +1,544 @@
+package ai_project.board;
+
+import ai_project.board.model.MoveCodec;
+import java.util.Arrays;
+
+/**
+ * Tables and allocation-free kernels of one board size, shared by {@link QuoridorBoard} and
+ * {@link SearchBoard} of every {@link Variant} with that size. Cells are indexed {@code row * size + col}
+ * and wall anchors {@code row * (size - 1) + col}; cell sets and wall sets are {@code long[]} bit sets
+ * (two words of cells and one of anchors on the standard board), so every edge test is a bit test and
+ * a breadth-first search advances a whole layer with a few shifts per word. Cell sets have at least two
+ * words, and boards up to 11x11, which fit in exactly two, flood with both words held in locals.
+ * Pawn positions and wall counts are packed two per int: player 1 in bits 0-7, player 2 in bits 8-15.
+ */
+final class Bitboards {
+
+    /** {@code wallRing} for {@link #generateMoves} that generates every legal wall. */
+    static final int ALL_WALLS = -1;
+
+    // Directions: 0 = up, 1 = down, 2 = left, 3 = right (opposites are xor-1 pairs)
+    static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3;
+    private static final int[] DR = {-1, 1, 0, 0}, DC = {0, 0, -1, 1};
+
+    private static final Bitboards[] BY_SIZE = new Bitboards[MoveCodec.MAX_SIZE + 1];
+
+    final int size, cells;
+    final int anchors; // wall anchors per row / column
+    final int anchorCount;
+    // Words of a cell set and of a wall (anchor) set
+    final int cellWords, wallWords;
+    // Upper bound on legal moves in any position: 5 pawn targets + 2 walls per anchor
+    final int maxMoves;
+
+    // Int moves are MoveCodec codes: pawn moves are the target cell, walls set wallFlag (+ verticalFlag) over the anchor
+    final MoveCodec codec;
+    final int wallFlag, verticalFlag;
+
+    // neighbor[d][cell] = cell reached by stepping in direction d, or -1 off the board
+    final int[][] neighbor;
+    // blockers[d][2 * cell + i] = anchors whose wall cuts the edge leaving cell in direction d, -1 if none;
+    // horizontal walls for UP / DOWN, vertical walls for LEFT / RIGHT
+    private final int[][] blockers;
+    // Top-left cell, row and column of every anchor
+    private final int[] anchorCell, anchorRow, anchorCol;
+    // Open edges of the empty board (cellWords per direction) and the goal rows as cell sets
+    private final long[] openBase, goal1, goal2;
+
+    private final ThreadLocal<Scratch> perThread = ThreadLocal.withInitial(() -> new Scratch(this));
+
+    private Bitboards(int size) {
+        this.size = size;
+        cells = size * size;
+        anchors = size - 1;
+        anchorCount = anchors * anchors;
+        cellWords = Math.max(2, (cells + 63) >>> 6);
+        wallWords = (anchorCount + 63) >>> 6;
+        maxMoves = 5 + 2 * anchorCount;
+        codec = MoveCodec.of(size);
+        wallFlag = codec.wallFlag();
+        verticalFlag = codec.verticalFlag();
+
+        neighbor = new int[4][cells];
+        blockers = new int[4][2 * cells];
+        for (int[] b : blockers) Arrays.fill(b, -1);
+        openBase = new long[4 * cellWords];
+        goal1 = new long[cellWords];
+        goal2 = new long[cellWords];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int cell = r * size + c;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    neighbor[d][cell] = (nr >= 0 && nr < size && nc >= 0 && nc < size) ? nr * size + nc : -1;
+                    if (neighbor[d][cell] >= 0) openBase[d * cellWords + (cell >>> 6)] |= 1L << cell;
+                }
+                if (r == 0) set(goal1, cell);
+                if (r == size - 1) set(goal2, cell);
+                // Vertical step between rows r and r+1 is cut by horizontal walls at (r, c) or (r, c-1)
+                if (r < anchors) {
+                    int a1 = c < anchors ? r * anchors + c : -1, a2 = c > 0 ? r * anchors + c - 1 : -1;
+                    blockers[DOWN][2 * cell] = a1; blockers[DOWN][2 * cell + 1] = a2;
+                    blockers[UP][2 * (cell + size)] = a1; blockers[UP][2 * (cell + size) + 1] = a2;
+                }
+                // Horizontal step between cols c and c+1 is cut by vertical walls at (r, c) or (r-1, c)
+                if (c < anchors) {
+                    int a1 = r < anchors ? r * anchors + c : -1, a2 = r > 0 ? (r - 1) * anchors + c : -1;
+                    blockers[RIGHT][2 * cell] = a1; blockers[RIGHT][2 * cell + 1] = a2;
+                    blockers[LEFT][2 * (cell + 1)] = a1; blockers[LEFT][2 * (cell + 1) + 1] = a2;
+                }
+            }
+        }
+        anchorCell = new int[anchorCount];
+        anchorRow = new int[anchorCount];
+        anchorCol = new int[anchorCount];
+        for (int a = 0; a < anchorCount; a++) {
+            anchorRow[a] = a / anchors;
+            anchorCol[a] = a % anchors;
+            anchorCell[a] = anchorRow[a] * size + anchorCol[a];
+        }
+    }
+
+    /** Tables of {@code size} x {@code size} boards, built once per size. */
+    static Bitboards of(int size) {
+        synchronized (BY_SIZE) {
+            if (BY_SIZE[size] == null) BY_SIZE[size] = new Bitboards(size);
+            return BY_SIZE[size];
+        }
+    }
+
+    /**
+     * Scratch buffers for the kernels below. Owned by one thread / one board, never shared; immutable
+     * boards borrow the calling thread's instance via {@link #scratch}, so no kernel call allocates.
+     */
+    static final class Scratch {
+        private final Bitboards bits;
+        final long[] test, cutsH, cutsV, candidates;
+        // Layers of the bit-parallel floods
+        final long[] seen, front, next;
+        final int[] queue, parentDir;
+        final int[] moves;
+        private final long[] open;
+        // Breadth-first searches run with this scratch; search statistics read it
+        long floods;
+        // Walls the open edges were built for
+        private long[] openWh, openWv;
+
+        Scratch(Bitboards bits) {
+            this.bits = bits;
+            test = new long[4 * bits.cellWords];
+            open = new long[4 * bits.cellWords];
+            cutsH = new long[bits.wallWords];
+            cutsV = new long[bits.wallWords];
+            candidates = new long[bits.wallWords];
+            seen = new long[bits.cellWords];
+            front = new long[bits.cellWords];
+            next = new long[bits.cellWords];
+            queue = new int[bits.cells];
+            parentDir = new int[bits.cells];
+            moves = new int[bits.maxMoves];
+        }
+
+        /**
+         * Open edges for the given walls (see {@link #openEdges}), rebuilt only when other wall sets are
+         * passed in. The sets must never change afterwards, as those of a {@link QuoridorBoard}.
+         */
+        long[] openEdges(long[] wh, long[] wv) {
+            if (wh != openWh || wv != openWv) {
+                bits.openEdges(wh, wv, open);
+                openWh = wh; openWv = wv;
+            }
+            return open;
+        }
+    }
+
+    /** The calling thread's scratch for this size. */
+    Scratch scratch() { return perThread.get(); }
+
+    static int pack(int p1, int p2) { return p1 | (p2 << 8); }
+    static int unpack(int packed, int pid) { return pid == 1 ? packed & 0xFF : (packed >>> 8) & 0xFF; }
+
+    static boolean has(long[] set, int i) { return (set[i >>> 6] & (1L << i)) != 0L; }
+    static void set(long[] set, int i) { set[i >>> 6] |= 1L << i; }
+    static void clear(long[] set, int i) { set[i >>> 6] &= ~(1L << i); }
+
+    boolean atGoal(int pid, int cell) { return pid == 1 ? cell < size : cell >= cells - size; }
+
+    /** ORs the anchors within {@code ring} of {@code cell} into {@code out}; ring 1 is the four corners of the cell itself. */
+    void ringAround(int cell, int ring, long[] out) {
+        int r = cell / size, c = cell % size;
+        for (int ar = Math.max(0, r - ring); ar <= Math.min(anchors - 1, r + ring - 1); ar++)
+            for (int ac = Math.max(0, c - ring); ac <= Math.min(anchors - 1, c + ring - 1); ac++)
+                set(out, ar * anchors + ac);
+    }
+
+    boolean isOpen(long[] open, int cell, int d) {
+        return (open[d * cellWords + (cell >>> 6)] & (1L << cell)) != 0L;
+    }
+
+    /** Per-direction sets of cells whose outgoing edge is open, {@code cellWords} words per direction starting at {@code d * cellWords}. */
+    void openEdges(long[] wh, long[] wv, long[] open) {
+        System.arraycopy(openBase, 0, open, 0, openBase.length);
+        for (int w = 0; w < wallWords; w++) {
+            for (long m = wh[w]; m != 0L; m &= m - 1) cutWall(open, (w << 6) + Long.numberOfTrailingZeros(m), true);
+            for (long m = wv[w]; m != 0L; m &= m - 1) cutWall(open, (w << 6) + Long.numberOfTrailingZeros(m), false);
+        }
+    }
+
+    void cutWall(long[] open, int anchor, boolean horizontal) {
+        int cell = anchorCell[anchor];
+        if (horizontal) {
+            clearEdge(open, DOWN, cell); clearEdge(open, DOWN, cell + 1);
+            clearEdge(open, UP, cell + size); clearEdge(open, UP, cell + size + 1);
+        } else {
+            clearEdge(open, RIGHT, cell); clearEdge(open, RIGHT, cell + size);
+            clearEdge(open, LEFT, cell + 1); clearEdge(open, LEFT, cell + size + 1);
+        }
+    }
+
+    /** Reverts {@link #cutWall}. Legal walls never overlap, so no other wall cuts the same edges. */
+    void uncutWall(long[] open, int anchor, boolean horizontal) {
+        int cell = anchorCell[anchor];
+        if (horizontal) {
+            setEdge(open, DOWN, cell); setEdge(open, DOWN, cell + 1);
+            setEdge(open, UP, cell + size); setEdge(open, UP, cell + size + 1);
+        } else {
+            setEdge(open, RIGHT, cell); setEdge(open, RIGHT, cell + size);
+            setEdge(open, LEFT, cell + 1); setEdge(open, LEFT, cell + size + 1);
+        }
+    }
+
+    /**
+     * True if every distance in {@code dist} still holds in {@code open}, from which a wall at {@code anchor}
+     * has just been cut: each cut edge joins cells at the same distance, or its higher cell still has
+     * another open step down, so every shortest path through the edge has a detour of the same length.
+     */
+    boolean keepsDistances(long[] open, int[] dist, int anchor, boolean horizontal) {
+        int cell = anchorCell[anchor];
+        return horizontal ? keepsDistance(open, dist, cell, DOWN) && keepsDistance(open, dist, cell + 1, DOWN)
+                          : keepsDistance(open, dist, cell, RIGHT) && keepsDistance(open, dist, cell + size, RIGHT);
+    }
+
+    /** True if a wall at {@code anchor} borders the cell of either pawn, so it may change their pawn moves. */
+    boolean bordersPawns(int anchor, int pawns) {
+        int cell = anchorCell[anchor];
+        return borders(cell, unpack(pawns, 1)) || borders(cell, unpack(pawns, 2));
+    }
+
+    private boolean borders(int anchorCell, int cell) {
+        int d = cell - anchorCell;
+        return d == 0 || d == 1 || d == size || d == size + 1;
+    }
+
+    private boolean keepsDistance(long[] open, int[] dist, int cell, int d) {
+        int other = neighbor[d][cell];
+        if (dist[cell] == dist[other]) return true;
+        int high = dist[cell] > dist[other] ? cell : other, down = dist[high] - 1;
+        for (int e = 0; e < 4; e++) if (isOpen(open, high, e) && dist[neighbor[e][high]] == down) return true;
+        return false;
+    }
+
+    private void clearEdge(long[] open, int d, int cell) {
+        open[d * cellWords + (cell >>> 6)] &= ~(1L << cell);
+    }
+
+    private void setEdge(long[] open, int d, int cell) {
+        open[d * cellWords + (cell >>> 6)] |= 1L << cell;
+    }
+
+    /**
+     * One layer of a bit-parallel BFS: writes the cells one open edge away from {@code front} that are not
+     * yet {@code seen} into {@code next} and adds them to {@code seen}. Steps up / down shift by a row, left
+     * / right by one bit, carrying across word boundaries. Returns false if the layer is empty.
+     */
+    private boolean step(long[] open, long[] front, long[] seen, long[] next) {
+        int words = cellWords, k = size;
+        int up = UP * words, down = DOWN * words, left = LEFT * words, right = RIGHT * words;
+        long any = 0L;
+        for (int w = 0; w < words; w++) {
+            long f = front[w];
+            long n = ((f & open[up + w]) >>> k) | ((f & open[down + w]) << k)
+                   | ((f & open[left + w]) >>> 1) | ((f & open[right + w]) << 1);
+            if (w + 1 < words) {
+                long g = front[w + 1];
+                n |= ((g & open[up + w + 1]) << (64 - k)) | ((g & open[left + w + 1]) << 63);
+            }
+            if (w > 0) {
+                long g = front[w - 1];
+                n |= ((g & open[down + w - 1]) >>> (64 - k)) | ((g & open[right + w - 1]) >>> 63);
+            }
+            n &= ~seen[w];
+            next[w] = n;
+            seen[w] |= n;
+            any |= n;
+        }
+        return any != 0L;
+    }
+
+    /**
+     * Bit-parallel BFS: the whole frontier advances one step per iteration, so the loop count equals
+     * the path length rather than the number of cells.
+     */
+    int floodDistance(long[] open, int start, int pid, Scratch s) {
+        if (cellWords == 2) return floodDistance2(open, start, pid);
+        long[] goal = pid == 1 ? goal1 : goal2;
+        long[] seen = s.seen, front = s.front, next = s.next;
+        Arrays.fill(seen, 0L);
+        Arrays.fill(front, 0L);
+        set(seen, start);
+        set(front, start);
+
+        for (int depth = 0; ; depth++) {
+            long hit = 0L;
+            for (int w = 0; w < cellWords; w++) hit |= front[w] & goal[w];
+            if (hit != 0L) return depth;
+            if (!step(open, front, seen, next)) return Integer.MAX_VALUE;
+            long[] t = front; front = next; next = t;
+        }
+    }
+
+    /**
+     * Reverse BFS from the goal row of {@code pid}: writes every cell's distance to that goal into
+     * {@code dist} ({@code Integer.MAX_VALUE} where it is unreachable). Uses the same layered flood as
+     * {@link #floodDistance}, so each cell is written once.
+     */
+    void distanceMap(long[] open, int pid, int[] dist, Scratch s) {
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        if (cellWords == 2) {
+            distanceMap2(open, pid, dist);
+            return;
+        }
+        long[] goal = pid == 1 ? goal1 : goal2;
+        long[] seen = s.seen, front = s.front, next = s.next;
+        System.arraycopy(goal, 0, seen, 0, cellWords);
+        System.arraycopy(goal, 0, front, 0, cellWords);
+
+        // Edges are symmetric, so stepping out of the frontier walks paths backwards
+        for (int depth = 0; ; depth++) {
+            for (int w = 0; w < cellWords; w++)
+                for (long m = front[w]; m != 0L; m &= m - 1) dist[(w << 6) + Long.numberOfTrailingZeros(m)] = depth;
+            if (!step(open, front, seen, next)) return;
+            long[] t = front; front = next; next = t;
+        }
+    }
+
+    // Two-word versions of the floods above: the same shifts as step(), with the words unrolled
+    private int floodDistance2(long[] open, int start, int pid) {
+        long[] goal = pid == 1 ? goal1 : goal2;
+        long goalLo = goal[0], goalHi = goal[1];
+        long seenLo = start < 64 ? 1L << start : 0L, seenHi = start < 64 ? 0L : 1L << start;
+        long fLo = seenLo, fHi = seenHi;
+        long upLo = open[2 * UP], upHi = open[2 * UP + 1], downLo = open[2 * DOWN], downHi = open[2 * DOWN + 1];
+        long leftLo = open[2 * LEFT], leftHi = open[2 * LEFT + 1], rightLo = open[2 * RIGHT], rightHi = open[2 * RIGHT + 1];
+        int k = size;
+
+        for (int depth = 0; ; depth++) {
+            if (((fLo & goalLo) | (fHi & goalHi)) != 0L) return depth;
+
+            long uLo = fLo & upLo, uHi = fHi & upHi;
+            long dLo = fLo & downLo, dHi = fHi & downHi;
+            long lLo = fLo & leftLo, lHi = fHi & leftHi;
+            long rLo = fLo & rightLo, rHi = fHi & rightHi;
+
+            long nLo = (uLo >>> k) | (uHi << (64 - k))
+                     | (dLo << k)
+                     | (lLo >>> 1) | (lHi << 63)
+                     | (rLo << 1);
+            long nHi = (uHi >>> k)
+                     | (dHi << k) | (dLo >>> (64 - k))
+                     | (lHi >>> 1)
+                     | (rHi << 1) | (rLo >>> 63);
+
+            nLo &= ~seenLo; nHi &= ~seenHi;
+            if ((nLo | nHi) == 0L) return Integer.MAX_VALUE;
+            seenLo |= nLo; seenHi |= nHi;
+            fLo = nLo; fHi = nHi;
+        }
+    }
+
+    private void distanceMap2(long[] open, int pid, int[] dist) {
+        long[] goal = pid == 1 ? goal1 : goal2;
+        long fLo = goal[0], fHi = goal[1];
+        long seenLo = fLo, seenHi = fHi;
+        long upLo = open[2 * UP], upHi = open[2 * UP + 1], downLo = open[2 * DOWN], downHi = open[2 * DOWN + 1];
+        long leftLo = open[2 * LEFT], leftHi = open[2 * LEFT + 1], rightLo = open[2 * RIGHT], rightHi = open[2 * RIGHT + 1];
+        int k = size;
+
+        for (int depth = 0; (fLo | fHi) != 0L; depth++) {
+            for (long m = fLo; m != 0L; m &= m - 1) dist[Long.numberOfTrailingZeros(m)] = depth;
+            for (long m = fHi; m != 0L; m &= m - 1) dist[64 + Long.numberOfTrailingZeros(m)] = depth;
+
+            long uLo = fLo & upLo, uHi = fHi & upHi;
+            long dLo = fLo & downLo, dHi = fHi & downHi;
+            long lLo = fLo & leftLo, lHi = fHi & leftHi;
+            long rLo = fLo & rightLo, rHi = fHi & rightHi;
+
+            long nLo = (uLo >>> k) | (uHi << (64 - k))
+                     | (dLo << k)
+                     | (lLo >>> 1) | (lHi << 63)
+                     | (rLo << 1);
+            long nHi = (uHi >>> k)
+                     | (dHi << k) | (dLo >>> (64 - k))
+                     | (lHi >>> 1)
+                     | (rHi << 1) | (rLo >>> 63);
+
+            fLo = nLo & ~seenLo; fHi = nHi & ~seenHi;
+            seenLo |= fLo; seenHi |= fHi;
+        }
+    }
+
+    /**
+     * Finds one shortest path from {@code start} with a parent-tracking BFS and sets the anchors whose
+     * horizontal / vertical wall would cut one of its edges in {@code cutsH} / {@code cutsV}.
+     * If the player has no path at all every anchor is marked, forcing full checks.
+     */
+    void witnessCuts(long[] open, int start, int pid, long[] cutsH, long[] cutsV, Scratch s) {
+        // Every cell is queued at most once, so the queue never wraps; visited cells are a bit set
+        int[] queue = s.queue, parentDir = s.parentDir;
+        long[] seen = s.seen;
+        s.floods++;
+        Arrays.fill(seen, 0L);
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        set(seen, start);
+
+        while (head < tail) {
+            int cur = queue[head++];
+            if (atGoal(pid, cur)) {
+                // Walk back to the start, collecting the anchors that block each step
+                while (cur != start) {
+                    int d = parentDir[cur];
+                    int prev = neighbor[d ^ 1][cur];
+                    int[] b = blockers[d];
+                    long[] cuts = d < LEFT ? cutsH : cutsV;
+                    if (b[2 * prev] >= 0) set(cuts, b[2 * prev]);
+                    if (b[2 * prev + 1] >= 0) set(cuts, b[2 * prev + 1]);
+                    cur = prev;
+                }
+                return;
+            }
+            for (int d = 0; d < 4; d++) {
+                if (!isOpen(open, cur, d)) continue;
+                int nb = neighbor[d][cur];
+                if (has(seen, nb)) continue;
+                set(seen, nb);
+                parentDir[nb] = d;
+                queue[tail++] = nb;
+            }
+        }
+        Arrays.fill(cutsH, -1L);
+        Arrays.fill(cutsV, -1L);
+    }
+
+    /** Writes the target cells of every legal pawn move from {@code my} into {@code out} and returns how many there are. */
+    int pawnTargets(long[] open, int my, int opp, int[] out) {
+        int n = 0;
+        for (int d = 0; d < 4; d++) {
+            if (!isOpen(open, my, d)) continue;
+            int nb = neighbor[d][my];
+
+            if (nb != opp) {
+                out[n++] = nb;
+            } else if (isOpen(open, nb, d)) {
+                // Jump Logic
+                out[n++] = neighbor[d][nb];
+            } else {
+                // Diagonal side-steps: left/right of a vertical jump, up/down of a horizontal one
+                int s1 = d < LEFT ? LEFT : UP, s2 = d < LEFT ? RIGHT : DOWN;
+                if (isOpen(open, nb, s1)) out[n++] = neighbor[s1][nb];
+                if (isOpen(open, nb, s2)) out[n++] = neighbor[s2][nb];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Full legality test for one wall: overlap / crossing checks, then a reachability check for both
+     * pawns unless {@code onPath} is false (the wall misses both witness paths, see {@link #witnessCuts}).
+     * {@code open} holds the current open edges and is left untouched.
+     */
+    boolean isWallPlacementValid(long[] wh, long[] wv, int pawns, int anchor, boolean horizontal,
+                                 long[] open, boolean onPath, Scratch s) {
+        // 1. Overlap & Crossing Checks
+        if (has(wh, anchor) || has(wv, anchor)) return false;
+        if (horizontal) {
+            int c = anchorCol[anchor];
+            if ((c > 0 && has(wh, anchor - 1)) || (c < anchors - 1 && has(wh, anchor + 1))) return false;
+        } else {
+            int r = anchorRow[anchor];
+            if ((r > 0 && has(wv, anchor - anchors)) || (r < anchors - 1 && has(wv, anchor + anchors))) return false;
+        }
+
+        // 2. Path Existence Check (a wall that misses both witness paths leaves them intact)
+        if (!onPath) return true;
+        long[] test = s.test;
+        System.arraycopy(open, 0, test, 0, open.length);
+        cutWall(test, anchor, horizontal);
+        s.floods++;
+        if (floodDistance(test, unpack(pawns, 1), 1, s) == Integer.MAX_VALUE) return false;
+        s.floods++;
+        return floodDistance(test, unpack(pawns, 2), 2, s) != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Writes the legal moves of {@code pid} as int moves into {@code out}: pawn moves first, then walls
+     * anchor by anchor with the horizontal wall before the vertical one. Returns the number of moves written.
+     * Walls are only generated if {@code wallsLeft}; {@code open} must hold the open edges of the walls.
+     *
+     * With {@code wallRing == ALL_WALLS} every legal wall is written. Otherwise only walls that cut one
+     * shortest path of either player (the {@link #witnessCuts} anchors) or lie within {@code wallRing}
+     * of a pawn are considered: no other wall lengthens a path this ply.
+     */
+    int generateMoves(long[] wh, long[] wv, long[] open, int pawns, int pid, boolean wallsLeft, int wallRing,
+                      int[] out, Scratch s) {
+        int p1 = unpack(pawns, 1), p2 = unpack(pawns, 2);
+        if (atGoal(1, p1) || atGoal(2, p2)) return 0;
+
+        // 1. Pawn Moves
+        int n = pawnTargets(open, unpack(pawns, pid), unpack(pawns, pid == 1 ? 2 : 1), out);
+
+        // 2. Wall Moves
+        if (wallsLeft) {
+            // Only walls that cut one of these two witness paths need a reachability check
+            long[] cutsH = s.cutsH, cutsV = s.cutsV, candidates = s.candidates;
+            Arrays.fill(cutsH, 0L);
+            Arrays.fill(cutsV, 0L);
+            witnessCuts(open, p1, 1, cutsH, cutsV, s);
+            witnessCuts(open, p2, 2, cutsH, cutsV, s);
+            if (wallRing == ALL_WALLS) {
+                Arrays.fill(candidates, -1L);
+            } else {
+                for (int w = 0; w < wallWords; w++) candidates[w] = cutsH[w] | cutsV[w];
+                ringAround(p1, wallRing, candidates);
+                ringAround(p2, wallRing, candidates);
+            }
+            for (int w = 0; w < wallWords; w++) {
+                for (long m = candidates[w]; m != 0L; m &= m - 1) {
+                    int a = (w << 6) + Long.numberOfTrailingZeros(m);
+                    if (a >= anchorCount) break;
+                    if (isWallPlacementValid(wh, wv, pawns, a, true, open, has(cutsH, a), s)) out[n++] = wallFlag | a;
+                    if (isWallPlacementValid(wh, wv, pawns, a, false, open, has(cutsV, a), s)) out[n++] = wallFlag | verticalFlag | a;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Legality of one int move for {@code pid} without generating the others: a pawn move is matched
+     * against the few pawn targets, a wall costs the overlap checks and one reachability check.
+     */
+    boolean isLegal(long[] wh, long[] wv, long[] open, int pawns, int pid, boolean wallsLeft, int move, Scratch s) {
+        if (codec.decode(move) == null) return false;
+        if (atGoal(1, unpack(pawns, 1)) || atGoal(2, unpack(pawns, 2))) return false;
+        if (!codec.isWall(move)) {
+            int[] targets = s.moves;
+            int n = pawnTargets(open, unpack(pawns, pid), unpack(pawns, pid == 1 ? 2 : 1), targets);
+            for (int i = 0; i < n; i++) {
+                if (targets[i] == move) return true;
+            }
+            return false;
+        }
+        return wallsLeft && isWallPlacementValid(wh, wv, pawns, codec.anchor(move), !codec.isVertical(move), open, true, s);
+    }
+}
\ No newline at end of file
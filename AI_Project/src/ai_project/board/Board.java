@@ -3,10 +3,23 @@ import ai_project.board.model.Move;
 import java.util.List;
 
 public interface Board {
+    /** Board size and wall budget this position is played under. */
+    Variant variant();
     boolean isTerminal();
     Integer getWinner();
     List<Move> getLegalMoves(int playerId);
     Board applyMove(Move move);
+
+    /** True if the side to move may play {@code move}; checks this one move only, at most one BFS per pawn. */
+    boolean isLegal(Move move);
+
+    /** {@code applyMove(move)} if the side to move may play it, otherwise null. */
+    default Board tryApply(Move move) {
+        return isLegal(move) ? applyMove(move) : null;
+    }
     int shortestPathLength(int playerId);
+    DistanceMap distanceMap(int playerId);
     int getToMove();
+    int getWallsUsed(int playerId);
+    long zobristKey();
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ai_project.board;
+
+import static ai_project.board.Bitboards.*;
+
+/**
+ * Distance from every cell to one player's goal row, computed by a single reverse BFS. Pawns do not
+ * block paths, matching {@link Board#shortestPathLength}. Besides the player's own path length, the map
+ * answers "how far would this pawn move leave me" with one lookup.
+ *
+ * Maps handed out by a {@link SearchBoard} are reused: they are only valid until that board changes.
+ */
+public final class DistanceMap {
+
+    /** Distance of cells that cannot reach the goal. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Bitboards bits;
+    private final int[] own;
+    // Either own or the array of a map whose distances still hold, see reuse
+    private int[] dist;
+    private final int[] targets = new int[8];
+    private int pawn, improvingMoves;
+
+    DistanceMap(Bitboards bits) {
+        this.bits = bits;
+        this.own = new int[bits.cells];
+        this.dist = own;
+    }
+
+    /** Recomputes the map of {@code pid}; {@code open} must hold the open edges of the board's walls. */
+    void compute(int pawns, int pid, long[] open, Scratch s) {
+        dist = own;
+        bits.distanceMap(open, pid, dist, s);
+        placePawns(pawns, pid, open);
+    }
+
+    /**
+     * Takes the distances of {@code from}, which must still hold under {@code open}, and redoes only what
+     * depends on the pawns. Shares {@code from}'s array, so it is valid only as long as {@code from} is.
+     */
+    void reuse(DistanceMap from, int pawns, int pid, long[] open) {
+        dist = from.dist;
+        placePawns(pawns, pid, open);
+    }
+
+    /** {@link #reuse} when the pawn moves are unchanged as well. */
+    void copy(DistanceMap from) {
+        dist = from.dist;
+        pawn = from.pawn;
+        improvingMoves = from.improvingMoves;
+    }
+
+    /** See {@link Bitboards#keepsDistances}. */
+    boolean survivesWall(long[] open, int anchor, boolean horizontal) {
+        return bits.keepsDistances(open, dist, anchor, horizontal);
+    }
+
+    private void placePawns(int pawns, int pid, long[] open) {
+        pawn = unpack(pawns, pid);
+        int n = bits.pawnTargets(open, pawn, unpack(pawns, pid == 1 ? 2 : 1), targets);
+        improvingMoves = 0;
+        for (int i = 0; i < n; i++) if (dist[targets[i]] < dist[pawn]) improvingMoves++;
+    }
+
+    /** Distance from cell {@code row * size + col}, which is also the int encoding of a pawn move there. */
+    public int at(int cell) { return dist[cell]; }
+
+    public int at(int row, int col) { return dist[row * bits.size + col]; }
+
+    /** The player's shortest path length, as {@link Board#shortestPathLength} would return it. */
+    public int distance() { return dist[pawn]; }
+
+    /** Legal pawn moves that land strictly closer to the goal: more of them means a path that is harder to block. */
+    public int improvingMoves() { return improvingMoves; }
+}
\ No newline at end of file
@@ -0,0 +1,288 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveCodec;
+import ai_project.board.model.MoveNotation;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The moves of one game from the start position of its {@link Variant}, with undo / redo over the log.
+ * Moves are stored as {@link MoveCodec} codes: one byte per move on boards up to 9x9, two on larger ones.
+ * A board is kept every {@link #SNAPSHOT_INTERVAL} plies, so any ply is rebuilt by replaying fewer than
+ * that many moves; other positions are never stored.
+ *
+ * File layout (big-endian): {@code int magic, int version, byte size, byte walls, short 0}, then the
+ * codes of the moves played (version 1 files have no size and walls and are standard games). With
+ * {@link #autosaveTo} the file follows every move, undo and redo as it happens: each change is a
+ * one-move append or a truncation, so after a crash the file still holds a valid game. The writes
+ * happen at once; the fsync behind them runs on a background thread, so a slow disk never stalls the
+ * caller (usually the UI thread).
+ */
+public final class GameRecord implements AutoCloseable {
+
+    /** A board is kept every this many plies. */
+    public static final int SNAPSHOT_INTERVAL = 16;
+
+    private static final int MAGIC = 0x51524543; // "QREC"
+    private static final int VERSION = 2;
+    private static final int HEADER = 12;
+    // Version 1 files hold the magic and version only
+    private static final int HEADER_V1 = 8;
+
+    private final Variant variant;
+    private final MoveCodec codec;
+    private final int moveBytes;
+    private byte[] moves = new byte[128];
+    private int size;  // moves recorded, including undone ones kept for redo
+    private int ply;   // moves currently played
+    // snapshots.get(i) is the board after i * SNAPSHOT_INTERVAL moves; one exists for every multiple <= size
+    private final List<Board> snapshots = new ArrayList<>();
+    private Board current;
+
+    private FileChannel autosave;
+    private final ByteBuffer oneMove;
+    // Set while an fsync is queued; changes made before it runs ride along with it
+    private final AtomicBoolean syncPending = new AtomicBoolean();
+
+    // Autosave fsyncs of every record; the idle thread times out
+    private static final ExecutorService SYNC;
+    static {
+        ThreadPoolExecutor tpe = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "record-autosave");
+            t.setDaemon(true);
+            return t;
+        });
+        tpe.allowCoreThreadTimeOut(true);
+        SYNC = tpe;
+    }
+
+    /** A standard game. */
+    public GameRecord() {
+        this(Variant.STANDARD);
+    }
+
+    public GameRecord(Variant variant) {
+        this.variant = variant;
+        this.codec = variant.codec();
+        this.moveBytes = codec.codeSpace() <= 0x100 ? 1 : 2;
+        this.oneMove = ByteBuffer.allocate(moveBytes);
+        current = new QuoridorBoard(variant);
+        snapshots.add(current);
+    }
+
+    public Variant variant() { return variant; }
+
+    public Board current() { return current; }
+
+    /** Moves currently played. */
+    public int ply() { return ply; }
+
+    /** Moves recorded, counting undone moves that can still be redone. */
+    public int size() { return size; }
+
+    public Move moveAt(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("No move " + index + " of " + size);
+        return codec.decode(codeAt(index));
+    }
+
+    private int codeAt(int index) {
+        if (moveBytes == 1) return moves[index] & 0xFF;
+        return (moves[2 * index] & 0xFF) << 8 | (moves[2 * index + 1] & 0xFF);
+    }
+
+    public boolean canUndo() { return ply > 0; }
+    public boolean canRedo() { return ply < size; }
+
+    /** Plays {@code move} after the current ply, dropping undone moves; throws if it is illegal here. */
+    public Board play(Move move) {
+        Board next = current.tryApply(move);
+        if (next == null)
+            throw new IllegalArgumentException("Illegal move at ply " + ply + ": " + MoveNotation.format(move, variant.size()));
+        if ((ply + 1) * moveBytes > moves.length) moves = Arrays.copyOf(moves, moves.length * 2);
+        int code = codec.encode(move);
+        if (moveBytes == 2) moves[2 * ply + 1] = (byte) code;
+        moves[moveBytes * ply++] = (byte) (moveBytes == 1 ? code : code >>> 8);
+        size = ply;
+        current = next;
+
+        // Snapshots past the old position described the dropped moves
+        while ((snapshots.size() - 1) * SNAPSHOT_INTERVAL >= size) snapshots.remove(snapshots.size() - 1);
+        if (size % SNAPSHOT_INTERVAL == 0) snapshots.add(next);
+        saveAppend();
+        return next;
+    }
+
+    public Board undo() {
+        if (!canUndo()) throw new IllegalStateException("Nothing to undo");
+        current = boardAt(ply - 1);
+        ply--;
+        saveTruncate();
+        return current;
+    }
+
+    public Board redo() {
+        if (!canRedo()) throw new IllegalStateException("Nothing to redo");
+        current = current.applyMove(moveAt(ply++));
+        saveAppend();
+        return current;
+    }
+
+    /** The position after {@code ply} moves ({@code 0..size()}), undone moves included. */
+    public Board boardAt(int ply) {
+        if (ply < 0 || ply > size) throw new IndexOutOfBoundsException("No ply " + ply + " of " + size);
+        if (ply == this.ply) return current;
+        Board b = snapshots.get(ply / SNAPSHOT_INTERVAL);
+        for (int i = ply - ply % SNAPSHOT_INTERVAL; i < ply; i++) b = b.applyMove(moveAt(i));
+        return b;
+    }
+
+    // --- Text ---
+
+    /**
+     * The moves played, in {@link MoveNotation}, separated by spaces. Games on other boards than the
+     * standard one start with the variant, e.g. {@code "11x11/13 f2 f10 ..."}.
+     */
+    public String toText() {
+        StringBuilder sb = new StringBuilder(ply * 4 + 10);
+        if (variant != Variant.STANDARD) sb.append(variant);
+        for (int i = 0; i < ply; i++) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(MoveNotation.format(moveAt(i), variant.size()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Replays whitespace-separated moves in {@link MoveNotation}, after an optional leading variant
+     * (see {@link #toText}); throws on the first illegal one.
+     */
+    public static GameRecord parse(String text) {
+        String[] tokens = text.trim().split("\\s+");
+        boolean hasVariant = tokens[0].indexOf('x') >= 0 || tokens[0].indexOf('/') >= 0;
+        GameRecord record = new GameRecord(hasVariant ? Variant.parse(tokens[0]) : Variant.STANDARD);
+        for (int i = hasVariant ? 1 : 0; i < tokens.length; i++) {
+            if (!tokens[i].isEmpty()) record.play(MoveNotation.parse(tokens[i], record.variant.size()));
+        }
+        return record;
+    }
+
+    // --- Files ---
+
+    public void write(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + ply * moveBytes);
+        buf.putInt(MAGIC).putInt(VERSION).put((byte) variant.size()).put((byte) variant.walls()).putShort((short) 0)
+           .put(moves, 0, ply * moveBytes).flip();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    /** Reads and replays a record file, checking every move. */
+    public static GameRecord read(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.limit() < HEADER_V1 || buf.getInt() != MAGIC) throw new IOException("Not a game record: " + file);
+        int version = buf.getInt();
+        Variant variant;
+        if (version == 1) {
+            variant = Variant.STANDARD;
+        } else if (version == VERSION && buf.limit() >= HEADER) {
+            int size = buf.get() & 0xFF, walls = buf.get() & 0xFF;
+            buf.getShort();
+            try {
+                variant = Variant.of(size, walls);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt game record " + file + ": " + e.getMessage());
+            }
+        } else {
+            throw new IOException("Unsupported game record version " + version + ": " + file);
+        }
+        GameRecord record = new GameRecord(variant);
+        if (buf.remaining() % record.moveBytes != 0) throw new IOException("Truncated game record: " + file);
+        while (buf.hasRemaining()) {
+            int code = record.moveBytes == 1 ? buf.get() & 0xFF : buf.getShort() & 0xFFFF;
+            Move m = record.codec.decode(code);
+            if (m == null || !record.current().isLegal(m))
+                throw new IOException("Corrupt game record " + file + " at ply " + record.ply());
+            record.play(m);
+        }
+        return record;
+    }
+
+    /**
+     * Writes the game to {@code file} and from then on keeps it in step with every change. Write errors
+     * later on are reported once to stderr and stop the autosave; they never interrupt the game.
+     */
+    public void autosaveTo(Path file) throws IOException {
+        close();
+        write(file);
+        autosave = FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    /** Stops autosaving; the file keeps the game as it stands. */
+    @Override
+    public void close() {
+        if (autosave == null) return;
+        try {
+            autosave.close();
+        } catch (IOException e) {
+            // nothing left to save
+        }
+        autosave = null;
+    }
+
+    // The file always holds exactly the moves played, so a change touches its last move only
+    private void saveAppend() {
+        if (autosave == null) return;
+        try {
+            oneMove.clear();
+            oneMove.put(moves, (ply - 1) * moveBytes, moveBytes).flip();
+            autosave.write(oneMove, HEADER + (ply - 1L) * moveBytes);
+            scheduleSync();
+        } catch (IOException e) {
+            autosaveFailed(e);
+        }
+    }
+
+    private void saveTruncate() {
+        if (autosave == null) return;
+        try {
+            autosave.truncate(HEADER + (long) ply * moveBytes);
+            scheduleSync();
+        } catch (IOException e) {
+            autosaveFailed(e);
+        }
+    }
+
+    private void scheduleSync() {
+        if (!syncPending.compareAndSet(false, true)) return;
+        FileChannel ch = autosave;
+        SYNC.execute(() -> {
+            // Cleared first, so a change made during the fsync queues another one
+            syncPending.set(false);
+            try {
+                ch.force(false);
+            } catch (IOException e) {
+                // closed since, or a failing disk the next write will report
+            }
+        });
+    }
+
+    private void autosaveFailed(IOException e) {
+        System.err.println("Autosave stopped: " + e.getMessage());
+        close();
+    }
+}
\ No newline at end of file
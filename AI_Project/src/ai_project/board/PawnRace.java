@@ -0,0 +1,161 @@
+package ai_project.board;
+
+import java.util.Arrays;
+
+import static ai_project.board.Bitboards.*;
+
+/**
+ * Exact solution of the pawn race on a fixed wall layout: every (pawn 1, pawn 2, side to move) state
+ * is solved by retrograde analysis, jumps and blocking included. Once no more walls can be placed this
+ * is the whole game, so lookups replace search. Build cost is one pass over the {@code 2 * cells^2}
+ * states (~13k on the standard board) and their pawn moves; a table stays valid for as long as the walls do.
+ */
+public final class PawnRace {
+
+    /** Results from the side to move's point of view. */
+    public static final int WIN = 1, DRAW = 0, LOSS = -1;
+
+    private final Variant variant;
+    private final Bitboards bits;
+    private final int cells, states;
+    private final long[] wallsH, wallsV, open;
+    private final byte[] result;
+    private final short[] plies;
+    private final int[] targets = new int[8];
+
+    private PawnRace(Variant variant, long[] wh, long[] wv) {
+        this.variant = variant;
+        this.bits = variant.bits();
+        this.cells = bits.cells;
+        this.states = 2 * cells * cells;
+        this.wallsH = wh.clone();
+        this.wallsV = wv.clone();
+        this.open = new long[4 * bits.cellWords];
+        bits.openEdges(wallsH, wallsV, open);
+        result = new byte[states];
+        plies = new short[states];
+        solve();
+    }
+
+    /** Solves the race on {@code board}'s walls; pawns, wall counts and side to move do not matter. */
+    public static PawnRace of(Board board) {
+        QuoridorBoard qb = view(board);
+        return new PawnRace(qb.variant(), qb.wallsH(), qb.wallsV());
+    }
+
+    /** True if this table was built for the board and walls of {@code board}. */
+    public boolean matches(Board board) {
+        QuoridorBoard qb = view(board);
+        return qb.variant() == variant && Arrays.equals(qb.wallsH(), wallsH) && Arrays.equals(qb.wallsV(), wallsV);
+    }
+
+    public int result(Board board) { return result[index(view(board))]; }
+
+    /** Plies until the race ends with best play (meaningless for {@link #DRAW}). */
+    public int plies(Board board) { return plies[index(view(board))]; }
+
+    /**
+     * Best pawn move (as a MoveCodec code) for the side to move: the fastest win, else the slowest loss,
+     * else a move that keeps the draw. -1 if the game is over.
+     */
+    public int bestMove(Board board) {
+        QuoridorBoard qb = view(board);
+        int s = index(qb);
+        int pid = qb.getToMove();
+        int my = unpack(qb.pawns(), pid), opp = unpack(qb.pawns(), pid == 1 ? 2 : 1);
+        if (bits.atGoal(1, unpack(qb.pawns(), 1)) || bits.atGoal(2, unpack(qb.pawns(), 2))) return -1;
+
+        int n = bits.pawnTargets(open, my, opp, targets);
+        int best = -1, bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int c = child(s, pid, targets[i]);
+            // Rank children by our outcome: a lost child for the opponent is our win
+            int rank = switch (result[c]) {
+                case LOSS -> 1_000_000 - plies[c];
+                case DRAW -> 0;
+                default -> -1_000_000 + plies[c];
+            };
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = targets[i];
+            }
+        }
+        return best;
+    }
+
+    private static QuoridorBoard view(Board board) {
+        return board instanceof QuoridorBoard qb ? qb : SearchBoard.of(board).snapshot();
+    }
+
+    private int index(int toMove, int p1, int p2) { return ((toMove - 1) * cells + p1) * cells + p2; }
+
+    private int index(QuoridorBoard qb) {
+        return index(qb.getToMove(), unpack(qb.pawns(), 1), unpack(qb.pawns(), 2));
+    }
+
+    /** State after the side to move in state {@code s} steps to {@code target}. */
+    private int child(int s, int pid, int target) {
+        int p1 = (s / cells) % cells, p2 = s % cells;
+        return pid == 1 ? index(2, target, p2) : index(1, p1, target);
+    }
+
+    private void solve() {
+        // Forward pass: successor counts, then predecessor lists in compressed rows
+        int[] remaining = new int[states];
+        int[] predStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            if (isFinal(s)) continue;
+            int pid = s / (cells * cells) + 1;
+            int n = targets(s, pid);
+            remaining[s] = n;
+            for (int i = 0; i < n; i++) predStart[child(s, pid, targets[i]) + 1]++;
+        }
+        for (int s = 0; s < states; s++) predStart[s + 1] += predStart[s];
+        int[] preds = new int[predStart[states]];
+        int[] fill = predStart.clone();
+        for (int s = 0; s < states; s++) {
+            if (isFinal(s)) continue;
+            int pid = s / (cells * cells) + 1;
+            int n = targets(s, pid);
+            for (int i = 0; i < n; i++) preds[fill[child(s, pid, targets[i])]++] = s;
+        }
+
+        // Retrograde BFS from finished games, which are lost for the side to move; states never reached are draws
+        int[] queue = new int[states];
+        int head = 0, tail = 0;
+        for (int s = 0; s < states; s++) {
+            if (isFinal(s)) {
+                result[s] = LOSS;
+                queue[tail++] = s;
+            }
+        }
+        while (head < tail) {
+            int t = queue[head++];
+            for (int i = predStart[t]; i < predStart[t + 1]; i++) {
+                int p = preds[i];
+                if (result[p] != DRAW || isFinal(p)) continue;
+                if (result[t] == LOSS) {
+                    result[p] = WIN;
+                    plies[p] = (short) (plies[t] + 1);
+                    queue[tail++] = p;
+                } else if (--remaining[p] == 0) {
+                    result[p] = LOSS;
+                    plies[p] = (short) (plies[t] + 1);
+                    queue[tail++] = p;
+                }
+            }
+        }
+    }
+
+    /** The game is over: the player who just moved reached its goal row. */
+    private boolean isFinal(int s) {
+        int p1 = (s / cells) % cells, p2 = s % cells;
+        return p1 != p2 && (bits.atGoal(1, p1) || bits.atGoal(2, p2));
+    }
+
+    private int targets(int s, int pid) {
+        int p1 = (s / cells) % cells, p2 = s % cells;
+        if (p1 == p2) return 0;
+        return pid == 1 ? bits.pawnTargets(open, p1, p2, targets) : bits.pawnTargets(open, p2, p1, targets);
+    }
+}
\ No newline at end of file
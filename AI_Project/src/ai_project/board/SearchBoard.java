@@ -0,0 +1,220 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveCodec;
+import java.util.List;
+
+import static ai_project.board.Bitboards.*;
+
+/**
+ * Mutable, single-threaded board for search. Moves are ints (see {@link #encode} / {@link #decode})
+ * applied in place with {@link #makeMove} and reverted with {@link #unmakeMove}; the undo history and
+ * kernel scratch buffers are preallocated, so make / unmake / generate never allocate. The Zobrist key
+ * is updated incrementally on every make.
+ * It still implements {@link Board} so evaluation functions can read it directly.
+ */
+public final class SearchBoard implements Board {
+
+    /** Size of a buffer that can hold every legal move of any position on any supported board. */
+    public static final int MAX_MOVES = 5 + 2 * (MoveCodec.MAX_SIZE - 1) * (MoveCodec.MAX_SIZE - 1);
+    /** Deepest line (in plies) that can be made on top of the root. */
+    public static final int MAX_PLY = 128;
+    /** Wall ring for {@link #generateMoves(int, int[], int)} that keeps every legal wall. */
+    public static final int ALL_WALLS = Bitboards.ALL_WALLS;
+
+    private final Variant variant;
+    private final Bitboards bits;
+    private final MoveCodec codec;
+
+    private int pawns, wallsUsed, toMove;
+    // Owned by this board and changed in place, together with their open edges
+    private final long[] wallsH, wallsV, open;
+    private long key;
+
+    // Undo stack: the packed state before each made move, and the move itself to take a wall back out
+    private final int[] undoPawns = new int[MAX_PLY], undoWallsUsed = new int[MAX_PLY], undoMove = new int[MAX_PLY];
+    private final long[] undoKey = new long[MAX_PLY];
+    private int ply;
+
+    private final Scratch scratch;
+    // Per-player distance maps, valid while the board's key equals the stamp
+    private final DistanceMap[] maps;
+    private final long[] mapKeys = new long[3];
+    // Per-player maps of the last child asked for, see childDistanceMap
+    private final DistanceMap[] childMaps;
+
+    private SearchBoard(Variant variant, int pawns, int wallsUsed, long[] wh, long[] wv, int tm, long key) {
+        this.variant = variant;
+        this.bits = variant.bits();
+        this.codec = bits.codec;
+        this.pawns = pawns; this.wallsUsed = wallsUsed;
+        this.wallsH = wh.clone(); this.wallsV = wv.clone();
+        this.open = new long[4 * bits.cellWords];
+        bits.openEdges(wallsH, wallsV, open);
+        this.toMove = tm;
+        this.key = key;
+        scratch = new Scratch(bits);
+        maps = new DistanceMap[] {null, new DistanceMap(bits), new DistanceMap(bits)};
+        childMaps = new DistanceMap[] {null, new DistanceMap(bits), new DistanceMap(bits)};
+        mapKeys[1] = ~key; mapKeys[2] = ~key;
+    }
+
+    /** Copies any supported {@link Board} into a fresh search board. */
+    public static SearchBoard of(Board board) {
+        if (board instanceof QuoridorBoard qb)
+            return new SearchBoard(qb.variant(), qb.pawns(), qb.wallsUsed(), qb.wallsH(), qb.wallsV(), qb.getToMove(), qb.zobristKey());
+        if (board instanceof SearchBoard sb)
+            return new SearchBoard(sb.variant, sb.pawns, sb.wallsUsed, sb.wallsH, sb.wallsV, sb.toMove, sb.key);
+        throw new IllegalArgumentException("Unsupported board type: " + board.getClass().getName());
+    }
+
+    /** Immutable copy of the current position. */
+    public QuoridorBoard snapshot() {
+        return new QuoridorBoard(variant, pawns, wallsUsed, wallsH.clone(), wallsV.clone(), toMove, key);
+    }
+
+    @Override
+    public Variant variant() { return variant; }
+
+    public Move decode(int move) { return codec.decode(move); }
+    public int encode(Move move) { return codec.encode(move); }
+
+    private boolean hasWallsLeft(int playerId) { return unpack(wallsUsed, playerId) < variant.walls(); }
+
+    /** Writes every legal move of {@code playerId} into {@code out} (at least {@link #MAX_MOVES} long). */
+    public int generateMoves(int playerId, int[] out) {
+        return generateMoves(playerId, out, ALL_WALLS);
+    }
+
+    /**
+     * Selective generation for search: all pawn moves, but only the walls that cut a shortest
+     * path of either player or lie within {@code wallRing} anchors of a pawn ({@link #ALL_WALLS} keeps
+     * them all). The skipped walls are legal, so legality checks must use the full generator.
+     */
+    public int generateMoves(int playerId, int[] out, int wallRing) {
+        return bits.generateMoves(wallsH, wallsV, open, pawns, playerId, hasWallsLeft(playerId), wallRing, out, scratch);
+    }
+
+    /** Writes only the pawn moves of {@code playerId} (at most 5) into {@code out}; cheap enough for playouts. */
+    public int generatePawnMoves(int playerId, int[] out) {
+        if (isTerminal()) return 0;
+        return bits.pawnTargets(open, unpack(pawns, playerId), unpack(pawns, playerId == 1 ? 2 : 1), out);
+    }
+
+    /** True if the side to move may play the int move; checks this one move only. */
+    public boolean isLegal(int move) {
+        return bits.isLegal(wallsH, wallsV, open, pawns, toMove, hasWallsLeft(toMove), move, scratch);
+    }
+
+    @Override
+    public boolean isLegal(Move move) { return isLegal(codec.encode(move)); }
+
+    /** Plays a move for the side to move. The move is trusted to come from {@link #generateMoves}. */
+    public void makeMove(int move) {
+        undoPawns[ply] = pawns; undoWallsUsed[ply] = wallsUsed;
+        undoKey[ply] = key;
+        undoMove[ply] = move;
+        ply++;
+
+        key ^= variant.zobrist().delta(move, toMove, pawns, wallsUsed);
+
+        if (!codec.isWall(move)) {
+            pawns = toMove == 1 ? pack(move, unpack(pawns, 2)) : pack(unpack(pawns, 1), move);
+        } else {
+            boolean vertical = codec.isVertical(move);
+            set(vertical ? wallsV : wallsH, codec.anchor(move));
+            bits.cutWall(open, codec.anchor(move), !vertical);
+            wallsUsed += toMove == 1 ? 1 : 1 << 8;
+        }
+        toMove = toMove == 1 ? 2 : 1;
+    }
+
+    /** Reverts the most recent {@link #makeMove}. */
+    public void unmakeMove() {
+        ply--;
+        int move = undoMove[ply];
+        if (codec.isWall(move)) {
+            boolean vertical = codec.isVertical(move);
+            clear(vertical ? wallsV : wallsH, codec.anchor(move));
+            bits.uncutWall(open, codec.anchor(move), !vertical);
+        }
+        pawns = undoPawns[ply]; wallsUsed = undoWallsUsed[ply];
+        key = undoKey[ply];
+        toMove = toMove == 1 ? 2 : 1;
+    }
+
+    @Override
+    public boolean isTerminal() { return bits.atGoal(1, unpack(pawns, 1)) || bits.atGoal(2, unpack(pawns, 2)); }
+
+    @Override
+    public Integer getWinner() {
+        if (bits.atGoal(1, unpack(pawns, 1))) return 1;
+        if (bits.atGoal(2, unpack(pawns, 2))) return 2;
+        return null;
+    }
+
+    @Override
+    public List<Move> getLegalMoves(int playerId) { return snapshot().getLegalMoves(playerId); }
+
+    @Override
+    public Board applyMove(Move move) { return snapshot().applyMove(move); }
+
+    @Override
+    public int shortestPathLength(int playerId) {
+        scratch.floods++;
+        return bits.floodDistance(open, unpack(pawns, playerId), playerId, scratch);
+    }
+
+    /** Computed at most once per position and player; the returned map is reused after the board changes. */
+    @Override
+    public DistanceMap distanceMap(int playerId) {
+        DistanceMap map = maps[playerId];
+        if (mapKeys[playerId] != key) {
+            scratch.floods++;
+            map.compute(pawns, playerId, open, scratch);
+            mapKeys[playerId] = key;
+        }
+        return map;
+    }
+
+    /**
+     * Distance map of {@code pid} in the position after the int move, without making it; for scoring all
+     * children of a node in one pass. A pawn step never changes distances, and a wall only does when it
+     * cuts an edge some shortest path needs (see {@link Bitboards#keepsDistances}). Otherwise the child
+     * shares this position's map, redoing its pawn moves only if the wall borders a pawn, so a search runs
+     * just for walls that lengthen a path. Valid until the next call for {@code pid} or until this board changes.
+     */
+    public DistanceMap childDistanceMap(int move, int pid) {
+        DistanceMap parent = distanceMap(pid), child = childMaps[pid];
+        if (!codec.isWall(move)) {
+            int childPawns = toMove == 1 ? pack(move, unpack(pawns, 2)) : pack(unpack(pawns, 1), move);
+            child.reuse(parent, childPawns, pid, open);
+            return child;
+        }
+        int anchor = codec.anchor(move);
+        boolean horizontal = !codec.isVertical(move);
+        bits.cutWall(open, anchor, horizontal);
+        if (!parent.survivesWall(open, anchor, horizontal)) {
+            scratch.floods++;
+            child.compute(pawns, pid, open, scratch);
+        } else if (bits.bordersPawns(anchor, pawns)) {
+            child.reuse(parent, pawns, pid, open);
+        } else {
+            child.copy(parent);
+        }
+        bits.uncutWall(open, anchor, horizontal);
+        return child;
+    }
+
+    /** Breadth-first searches this board has run: path lengths, distance maps and wall legality checks. */
+    public long floods() { return scratch.floods; }
+
+    /** True if the int move places a wall rather than moving a pawn. */
+    public boolean isWall(int move) { return codec.isWall(move); }
+
+    @Override public int getToMove() { return toMove; }
+
+    @Override public long zobristKey() { return key; }
+
+    @Override public int getWallsUsed(int playerId) { return unpack(wallsUsed, playerId); }
+}
\ No newline at end of file
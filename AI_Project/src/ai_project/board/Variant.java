@@ -0,0 +1,81 @@
+package ai_project.board;
+
+import ai_project.board.model.MoveCodec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rules a board is played under: its side length and the walls each player may place.
+ * Instances are canonical (one per size and wall count, so {@code ==} compares them) and carry the
+ * precomputed tables of their size; boards of every variant run on the same kernels.
+ *
+ * Sizes are odd so that both pawns start on a middle column; {@link #STANDARD} is 9x9 with 10 walls.
+ */
+public final class Variant {
+
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = MoveCodec.MAX_SIZE;
+    /** Wall counts are packed into 8 bits per player. */
+    public static final int MAX_WALLS = 255;
+
+    private static final Map<Integer, Variant> CACHE = new ConcurrentHashMap<>();
+
+    public static final Variant STANDARD = of(9, 10);
+
+    private final int size, walls;
+    private final Bitboards bits;
+    private final Zobrist zobrist;
+
+    private Variant(int size, int walls) {
+        this.size = size;
+        this.walls = walls;
+        this.bits = Bitboards.of(size);
+        this.zobrist = new Zobrist(this);
+    }
+
+    /** The variant with {@code size} x {@code size} cells and {@code walls} walls per player. */
+    public static Variant of(int size, int walls) {
+        if (size < MIN_SIZE || size > MAX_SIZE || size % 2 == 0)
+            throw new IllegalArgumentException("Board size must be odd and in " + MIN_SIZE + ".." + MAX_SIZE + ": " + size);
+        if (walls < 0 || walls > MAX_WALLS)
+            throw new IllegalArgumentException("Walls per player must be in 0.." + MAX_WALLS + ": " + walls);
+        return CACHE.computeIfAbsent(size << 8 | walls, k -> new Variant(size, walls));
+    }
+
+    /** The variant with {@code size} x {@code size} cells and {@link #defaultWalls} walls per player. */
+    public static Variant of(int size) { return of(size, defaultWalls(size)); }
+
+    /** The standard 10 walls scaled with the side length: 5 on 5x5, 8 on 7x7, 13 on 11x11, 15 on 13x13. */
+    public static int defaultWalls(int size) { return (10 * (size - 1) + 4) / 8; }
+
+    /** Parses {@link #toString()}'s format, e.g. {@code "11x11/13"}; the wall count may be left out. */
+    public static Variant parse(String text) {
+        String s = text.trim().toLowerCase();
+        int x = s.indexOf('x'), slash = s.indexOf('/');
+        try {
+            int size = Integer.parseInt(s.substring(0, x < 0 ? (slash < 0 ? s.length() : slash) : x));
+            if (x >= 0 && Integer.parseInt(s.substring(x + 1, slash < 0 ? s.length() : slash)) != size)
+                throw new IllegalArgumentException("Board must be square: \"" + text + "\"");
+            return slash < 0 ? of(size) : of(size, Integer.parseInt(s.substring(slash + 1)));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Not a board variant: \"" + text + "\"");
+        }
+    }
+
+    public int size() { return size; }
+
+    /** Walls each player may place. */
+    public int walls() { return walls; }
+
+    public int cells() { return size * size; }
+
+    /** Move encoding of this board size. */
+    public MoveCodec codec() { return bits.codec; }
+
+    Bitboards bits() { return bits; }
+
+    Zobrist zobrist() { return zobrist; }
+
+    @Override
+    public String toString() { return size + "x" + size + "/" + walls; }
+}
\ No newline at end of file
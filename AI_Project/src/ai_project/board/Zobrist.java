@@ -0,0 +1,68 @@
+package ai_project.board;
+
+import java.util.SplittableRandom;
+
+import static ai_project.board.Bitboards.*;
+
+/**
+ * Zobrist keys for the positions of one {@link Variant}. The tables come from a fixed seed, so a position
+ * hashes to the same key in every run (stored books and game records depend on that). Each variant
+ * draws from its own stream, so positions of different variants do not share keys; the standard board
+ * keeps the stream it always had.
+ */
+final class Zobrist {
+
+    private static final long SEED = 0x51_0A1D0L;
+
+    private final long[][] pawn;       // [playerId][cell]
+    private final long[] wallH, wallV; // [anchor]
+    private final long[][] wallsUsed;  // [playerId][count]
+    private final long p2ToMove;
+    private final int wallFlag, verticalFlag, anchorMask;
+
+    Zobrist(Variant variant) {
+        Bitboards bits = variant.bits();
+        int size = variant.size(), walls = variant.walls();
+        pawn = new long[3][bits.cells];
+        wallsUsed = new long[3][walls + 1];
+        wallH = new long[bits.anchorCount];
+        wallV = new long[bits.anchorCount];
+        wallFlag = bits.wallFlag;
+        verticalFlag = bits.verticalFlag;
+        anchorMask = verticalFlag - 1;
+
+        boolean standard = size == 9 && walls == 10;
+        SplittableRandom rng = new SplittableRandom(standard ? SEED : SEED ^ ((long) size << 40) ^ ((long) walls << 32));
+        for (int pid = 1; pid <= 2; pid++) {
+            for (int c = 0; c < bits.cells; c++) pawn[pid][c] = rng.nextLong();
+            for (int w = 0; w <= walls; w++) wallsUsed[pid][w] = rng.nextLong();
+        }
+        for (int a = 0; a < wallH.length; a++) { wallH[a] = rng.nextLong(); wallV[a] = rng.nextLong(); }
+        p2ToMove = rng.nextLong();
+    }
+
+    /** Full key from packed state; boards keep it up to date incrementally with {@link #delta}. */
+    long key(int pawns, int wallsUsed, long[] wh, long[] wv, int toMove) {
+        long k = pawn[1][unpack(pawns, 1)] ^ pawn[2][unpack(pawns, 2)]
+               ^ this.wallsUsed[1][unpack(wallsUsed, 1)] ^ this.wallsUsed[2][unpack(wallsUsed, 2)];
+        for (int w = 0; w < wh.length; w++) {
+            for (long m = wh[w]; m != 0L; m &= m - 1) k ^= wallH[(w << 6) + Long.numberOfTrailingZeros(m)];
+            for (long m = wv[w]; m != 0L; m &= m - 1) k ^= wallV[(w << 6) + Long.numberOfTrailingZeros(m)];
+        }
+        return toMove == 2 ? k ^ p2ToMove : k;
+    }
+
+    /** Key delta for playing {@code move} (int encoding) as {@code pid} from the given packed state. */
+    long delta(int move, int pid, int pawns, int wallsUsed) {
+        long d = p2ToMove;
+        if ((move & wallFlag) == 0) {
+            d ^= pawn[pid][unpack(pawns, pid)] ^ pawn[pid][move];
+        } else {
+            int a = move & anchorMask;
+            int used = unpack(wallsUsed, pid);
+            d ^= ((move & verticalFlag) == 0 ? wallH[a] : wallV[a])
+               ^ this.wallsUsed[pid][used] ^ this.wallsUsed[pid][used + 1];
+        }
+        return d;
+    }
+}
\ No newline at end of file
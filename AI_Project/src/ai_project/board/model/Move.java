@@ -1,5 +1,12 @@
 package ai_project.board.model;
 public record Move(MoveKind kind, int row, int col, WallOrientation orientation) {
-    public static Move pawn(int r, int c) { return new Move(MoveKind.PAWN, r, c, null); }
-    public static Move wall(int r, int c, WallOrientation o) { return new Move(MoveKind.WALL, r, c, o); }
+    // Moves on any supported board are the canonical instances from MoveCodec
+    public static Move pawn(int r, int c) {
+        Move m = MoveCodec.canonicalPawn(r, c);
+        return m != null ? m : new Move(MoveKind.PAWN, r, c, null);
+    }
+    public static Move wall(int r, int c, WallOrientation o) {
+        Move m = MoveCodec.canonicalWall(r, c, o);
+        return m != null ? m : new Move(MoveKind.WALL, r, c, o);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package ai_project.board.model;
+
+/**
+ * Compact int encoding of the moves of one board size, and the canonical {@link Move} instance of every
+ * encodable move. A pawn move is its target cell {@code row * size + col}; a wall sets {@link #wallFlag()},
+ * plus {@link #verticalFlag()} if vertical, over its anchor {@code row * (size - 1) + col}. The flags sit
+ * just above the anchor bits, so codes stay dense: on the standard 9x9 board they fit in 8 bits (cells
+ * 0..80, walls 0x80 | 0x40 | 0..63), and per-move tables (history, killers, flyweights) are plain arrays
+ * of {@link #codeSpace()}.
+ */
+public final class MoveCodec {
+
+    /** Largest supported board: two cells must pack into 16 bits. */
+    public static final int MAX_SIZE = 15;
+    /** Code of "no move" and of moves that are off the board. */
+    public static final int NONE = -1;
+
+    // Canonical moves of every board size, shared by all codecs
+    private static final Move[] PAWNS = new Move[MAX_SIZE * MAX_SIZE];
+    private static final Move[] WALLS = new Move[2 * (MAX_SIZE - 1) * (MAX_SIZE - 1)];
+    private static final MoveCodec[] BY_SIZE = new MoveCodec[MAX_SIZE + 1];
+
+    static {
+        for (int r = 0; r < MAX_SIZE; r++)
+            for (int c = 0; c < MAX_SIZE; c++)
+                PAWNS[r * MAX_SIZE + c] = new Move(MoveKind.PAWN, r, c, null);
+        for (int r = 0; r < MAX_SIZE - 1; r++) {
+            for (int c = 0; c < MAX_SIZE - 1; c++) {
+                int i = 2 * (r * (MAX_SIZE - 1) + c);
+                WALLS[i] = new Move(MoveKind.WALL, r, c, WallOrientation.HORIZONTAL);
+                WALLS[i + 1] = new Move(MoveKind.WALL, r, c, WallOrientation.VERTICAL);
+            }
+        }
+    }
+
+    private final int size, anchors;
+    private final int wallFlag, verticalFlag, anchorMask, codeSpace;
+    private final Move[] moves;
+
+    private MoveCodec(int size) {
+        this.size = size;
+        this.anchors = size - 1;
+        // Vertical flag just above the highest anchor, wall flag above every cell
+        int v = Integer.highestOneBit(Math.max(1, anchors * anchors - 1)) << 1;
+        while (v << 1 < size * size) v <<= 1;
+        verticalFlag = v;
+        wallFlag = v << 1;
+        anchorMask = v - 1;
+        codeSpace = wallFlag << 1;
+
+        moves = new Move[codeSpace];
+        for (int r = 0; r < size; r++)
+            for (int c = 0; c < size; c++)
+                moves[r * size + c] = canonicalPawn(r, c);
+        for (int r = 0; r < anchors; r++) {
+            for (int c = 0; c < anchors; c++) {
+                int a = r * anchors + c;
+                moves[wallFlag | a] = canonicalWall(r, c, WallOrientation.HORIZONTAL);
+                moves[wallFlag | verticalFlag | a] = canonicalWall(r, c, WallOrientation.VERTICAL);
+            }
+        }
+    }
+
+    /** The codec of {@code size} x {@code size} boards ({@code 2..MAX_SIZE}). */
+    public static MoveCodec of(int size) {
+        if (size < 2 || size > MAX_SIZE) throw new IllegalArgumentException("Board size out of range: " + size);
+        synchronized (BY_SIZE) {
+            if (BY_SIZE[size] == null) BY_SIZE[size] = new MoveCodec(size);
+            return BY_SIZE[size];
+        }
+    }
+
+    public int size() { return size; }
+
+    /** Exclusive upper bound of every code. */
+    public int codeSpace() { return codeSpace; }
+
+    public int wallFlag() { return wallFlag; }
+    public int verticalFlag() { return verticalFlag; }
+
+    public int pawn(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size ? row * size + col : NONE;
+    }
+
+    public int wall(int row, int col, WallOrientation o) {
+        if (row < 0 || row >= anchors || col < 0 || col >= anchors) return NONE;
+        return wallFlag | (o == WallOrientation.VERTICAL ? verticalFlag : 0) | (row * anchors + col);
+    }
+
+    /** Code of {@code m}, or {@link #NONE} if it is off the board. */
+    public int encode(Move m) {
+        return m.kind() == MoveKind.PAWN ? pawn(m.row(), m.col()) : wall(m.row(), m.col(), m.orientation());
+    }
+
+    /** Canonical move for a valid code, null for anything else; never allocates. */
+    public Move decode(int code) { return code >= 0 && code < codeSpace ? moves[code] : null; }
+
+    public boolean isWall(int code) { return (code & wallFlag) != 0; }
+    public boolean isVertical(int code) { return (code & verticalFlag) != 0; }
+    public int anchor(int code) { return code & anchorMask; }
+
+    static Move canonicalPawn(int row, int col) {
+        return row >= 0 && row < MAX_SIZE && col >= 0 && col < MAX_SIZE ? PAWNS[row * MAX_SIZE + col] : null;
+    }
+
+    static Move canonicalWall(int row, int col, WallOrientation o) {
+        if (row < 0 || row >= MAX_SIZE - 1 || col < 0 || col >= MAX_SIZE - 1 || o == null) return null;
+        return WALLS[2 * (row * (MAX_SIZE - 1) + col) + (o == WallOrientation.VERTICAL ? 1 : 0)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package ai_project.board.model;
+
+/**
+ * Text notation for moves on a board of a given size. Columns are letters from {@code a} on the left,
+ * ranks count from {@code 1} on player 1's side (the bottom row is rank 1), so on the standard board
+ * player 1 starts on {@code e1} and player 2 on {@code e9}. A pawn move is its target cell
+ * ({@code "e2"}); a wall is the lower-left cell of the four it touches plus {@code h} or {@code v}
+ * ({@code "e3h"}), so walls never use the last column or rank.
+ */
+public final class MoveNotation {
+
+    private MoveNotation() { }
+
+    public static String format(Move m, int size) {
+        if (m.kind() == MoveKind.PAWN) return cell(m.col(), size - m.row());
+        return cell(m.col(), size - 1 - m.row()) + (m.orientation() == WallOrientation.HORIZONTAL ? "h" : "v");
+    }
+
+    /** Parses one move; throws {@link IllegalArgumentException} for text that is not an on-board move. */
+    public static Move parse(String text, int size) {
+        String s = text.trim().toLowerCase();
+        if (s.length() < 2) throw new IllegalArgumentException("Not a move: \"" + text + "\"");
+        char last = s.charAt(s.length() - 1);
+        boolean wall = last == 'h' || last == 'v';
+        int col = s.charAt(0) - 'a';
+        int rank;
+        try {
+            rank = Integer.parseInt(s.substring(1, wall ? s.length() - 1 : s.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a move: \"" + text + "\"");
+        }
+        MoveCodec codec = MoveCodec.of(size);
+        int code = wall
+            ? codec.wall(size - 1 - rank, col, last == 'h' ? WallOrientation.HORIZONTAL : WallOrientation.VERTICAL)
+            : codec.pawn(size - rank, col);
+        if (code == MoveCodec.NONE) throw new IllegalArgumentException("Move is off the board: \"" + text + "\"");
+        return codec.decode(code);
+    }
+
+    private static String cell(int col, int rank) {
+        return (char) ('a' + col) + Integer.toString(rank);
+    }
+}
\ No newline at end of file
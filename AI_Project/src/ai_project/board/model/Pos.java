@@ -1,2 +1,12 @@
 package ai_project.board.model;
-public record Pos(int row, int col) { }
\ No newline at end of file
+public record Pos(int row, int col) {
+    private static final int SIZE = MoveCodec.MAX_SIZE;
+    private static final Pos[] CELLS = new Pos[SIZE * SIZE];
+    static {
+        for (int i = 0; i < CELLS.length; i++) CELLS[i] = new Pos(i / SIZE, i % SIZE);
+    }
+    /** Canonical instance for cells of any supported board; anything else is created as usual. */
+    public static Pos of(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE ? CELLS[row * SIZE + col] : new Pos(row, col);
+    }
+}
\ No newline at end of file
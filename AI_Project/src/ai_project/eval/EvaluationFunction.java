@@ -1,6 +1,21 @@
 package ai_project.eval;
 import ai_project.board.Board;
+import ai_project.board.SearchBoard;
 
 public interface EvaluationFunction {
     double evaluate(Board state, int playerId, int opponentId);
+
+    /**
+     * Scores children of {@code parent} in one call: for {@code from <= i < to}, {@code out[i]} is what
+     * {@link #evaluate} returns after the int move {@code moves[i]}. Search calls this where every child is
+     * a leaf, so an implementation can share work between siblings; by default each child is made and evaluated.
+     */
+    default void evaluateChildren(SearchBoard parent, int[] moves, int from, int to, int playerId, int opponentId,
+                                  double[] out) {
+        for (int i = from; i < to; i++) {
+            parent.makeMove(moves[i]);
+            out[i] = evaluate(parent, playerId, opponentId);
+            parent.unmakeMove();
+        }
+    }
 }
\ No newline at end of file
@@ -1,13 +1,8 @@
 package ai_project.eval;
 
 import ai_project.board.Board;
-import ai_project.board.QuoridorBoard;
-import ai_project.board.model.Move;
-import ai_project.board.model.MoveKind;
-import ai_project.board.model.Pos;
-import ai_project.board.model.WallOrientation;
-
-import java.util.List;
+import ai_project.board.DistanceMap;
+import ai_project.board.SearchBoard;
 
 public final class PathLengthEvaluation implements EvaluationFunction {
 
@@ -19,8 +14,33 @@ public final class PathLengthEvaluation implements EvaluationFunction {
             return w == playerId ? 1_000_000.0 : -1_000_000.0;
         }
 
-        int myDist = state.shortestPathLength(playerId);
-        int oppDist = state.shortestPathLength(opponentId);
+        // One reverse BFS per player gives path lengths and pawn-move distances alike
+        return score(state.distanceMap(playerId), state.distanceMap(opponentId), state.getWallsUsed(playerId));
+    }
+
+    /**
+     * Same scores as {@link #evaluate}, from the children's maps: pawn steps and walls that no shortest
+     * path needs keep the parent's distances, so most children cost no search at all.
+     */
+    @Override
+    public void evaluateChildren(SearchBoard parent, int[] moves, int from, int to, int playerId, int opponentId,
+                                 double[] out) {
+        int wallsUsed = parent.getWallsUsed(playerId);
+        boolean ownMove = parent.getToMove() == playerId;
+        for (int i = from; i < to; i++) {
+            int move = moves[i];
+            DistanceMap myMap = parent.childDistanceMap(move, playerId);
+            DistanceMap oppMap = parent.childDistanceMap(move, opponentId);
+            // Distance 0 means a pawn stepped onto its goal row, which ends the game
+            if (myMap.distance() == 0) out[i] = 1_000_000.0;
+            else if (oppMap.distance() == 0) out[i] = -1_000_000.0;
+            else out[i] = score(myMap, oppMap, ownMove && parent.isWall(move) ? wallsUsed + 1 : wallsUsed);
+        }
+    }
+
+    private static double score(DistanceMap myMap, DistanceMap oppMap, int wallsUsed) {
+        int myDist = myMap.distance();
+        int oppDist = oppMap.distance();
 
         if (myDist == Integer.MAX_VALUE) return -100_000.0;
         if (oppDist == Integer.MAX_VALUE) return 100_000.0;
@@ -41,8 +61,8 @@ public final class PathLengthEvaluation implements EvaluationFunction {
         // --- 3. ADVANCED: Path Redundancy (The "Trap" Detector) ---
         // A path is only "safe" if we can't be easily blocked.
         // We roughly estimate this by checking how many immediate pawn moves move us closer.
-        long myGoodMoves = countGoodMoves(state, playerId, myDist);
-        long oppGoodMoves = countGoodMoves(state, opponentId, oppDist);
+        long myGoodMoves = myMap.improvingMoves();
+        long oppGoodMoves = oppMap.improvingMoves();
 
         // Reward having multiple options; penalize opponent having options.
         score += (myGoodMoves * 2.0);
@@ -50,24 +70,8 @@ public final class PathLengthEvaluation implements EvaluationFunction {
 
         // --- 4. Wall Conservation (Tie-Breaker) ---
         // Prefer saving walls if the result is otherwise equal.
-        if (state instanceof QuoridorBoard) {
-            QuoridorBoard qb = (QuoridorBoard) state;
-            int wallsUsed = (playerId == 1) ? qb.getP1Walls() : qb.getP2Walls();
-            score -= (wallsUsed * 0.1); 
-        }
+        score -= (wallsUsed * 0.1);
 
         return score;
     }
-
-    /**
-     * Counts how many immediate pawn moves result in a distance < current distance.
-     * This helps the AI prefer "wide" paths over "narrow" paths that are easily blocked.
-     */
-    private long countGoodMoves(Board board, int pid, int currentDist) {
-        return board.getLegalMoves(pid).stream()
-            .filter(m -> m.kind() == MoveKind.PAWN)
-            .map(board::applyMove)
-            .filter(nextBoard -> nextBoard.shortestPathLength(pid) < currentDist)
-            .count();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.PawnRace;
+import ai_project.board.model.Move;
+
+/**
+ * Plays the pawn race exactly once walls no longer matter. Solved cases:
+ * <ul>
+ *   <li>neither player has walls left: the race is the whole game, so every result is exact;</li>
+ *   <li>only the side to move has walls and it wins the bare race: walking the race line wins without them.</li>
+ * </ul>
+ * Anything else (the opponent can still wall, or our own walls might be needed) is left to search.
+ *
+ * The {@link PawnRace} table is kept for the last wall layout seen; with no walls left to place, that is
+ * one build per game and a lookup per move after it.
+ */
+public final class EndgameSolver {
+
+    private PawnRace race;
+
+    /** The exact move for {@code playerId}, or null if this position is not solved. */
+    public Move solve(Board board, int playerId) {
+        if (board.isTerminal() || board.getToMove() != playerId) return null;
+        int opponentId = playerId == 1 ? 2 : 1;
+        if (board.getWallsUsed(opponentId) < board.variant().walls()) return null;
+
+        if (race == null || !race.matches(board)) race = PawnRace.of(board);
+        boolean ownWalls = board.getWallsUsed(playerId) < board.variant().walls();
+        if (ownWalls && race.result(board) != PawnRace.WIN) return null;
+
+        int move = race.bestMove(board);
+        return move < 0 ? null : board.variant().codec().decode(move);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,399 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.DistanceMap;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.SearchBoard;
+import ai_project.board.model.Move;
+import ai_project.eval.EvaluationFunction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo tree search (UCT) with tree parallelism. All threads descend one shared tree; a thread
+ * counts its visit on the way down (a virtual loss, since the win is only added on the way back up),
+ * which steers the other threads to different lines. Leaves are judged by playouts instead of an
+ * evaluation function: pawns step along their distance maps and now and then drop a wall that
+ * lengthens the opponent's path.
+ *
+ * Nodes live in a fixed pool of parallel arrays (children of a node are contiguous), so the tree costs
+ * no per-node objects. The tree is kept between calls: if the new position is the root or lies one or
+ * two plies below it, search continues from that subtree. The pool is reset when it runs low.
+ *
+ * Budget: {@link SearchLimits#timeMillis()} and / or {@link SearchLimits#maxNodes()} (counted in
+ * playouts); a depth-only limit runs {@link #DEFAULT_PLAYOUTS}. The evaluation function is not used.
+ */
+public final class MctsSearch implements SearchStrategy, AutoCloseable {
+
+    public static final int DEFAULT_PLAYOUTS = 20_000;
+    // Pool of 2^20 nodes (24 MB)
+    private static final int DEFAULT_NODE_BITS = 20;
+    // Leaves are expanded once they have been visited this often, which keeps the pool from filling up
+    private static final int EXPAND_VISITS = 8;
+    private static final double EXPLORATION = 1.0;
+    // Chance per playout ply that the mover tries a blocking wall
+    private static final int WALL_PERCENT = 10;
+    private static final int WALL_TRIES = 4;
+    // Tree plus playout must fit in SearchBoard's undo stack
+    private static final int MAX_LINE = SearchBoard.MAX_PLY - 1;
+
+    private static final int UNEXPANDED = 0, EXPANDING = 1, EXPANDED = 2;
+
+    // Node pool; children of a node are childCount entries from firstChild
+    private final int capacity;
+    private final int[] moveOf, firstChild, childCount;
+    private final AtomicIntegerArray state, visits, wins; // wins of the player who moved into the node
+    private final AtomicInteger used = new AtomicInteger();
+    private volatile boolean full;
+
+    private int root = -1;
+    private QuoridorBoard rootBoard;
+
+    private final Worker main;
+    private final Worker[] helpers;
+    private final ExecutorService pool;
+    private final SearchStats stats = new SearchStats();
+
+    // Per-search state
+    private volatile AtomicBoolean stop, cancel;
+    private final AtomicLong playouts = new AtomicLong();
+    private long deadline, playoutLimit;
+
+    public MctsSearch(int threads) {
+        this(threads, new SplittableRandom().nextLong());
+    }
+
+    public MctsSearch(int threads, long seed) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1: " + threads);
+        capacity = 1 << DEFAULT_NODE_BITS;
+        moveOf = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        state = new AtomicIntegerArray(capacity);
+        visits = new AtomicIntegerArray(capacity);
+        wins = new AtomicIntegerArray(capacity);
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        main = new Worker(seeds.split());
+        helpers = new Worker[threads - 1];
+        for (int i = 0; i < helpers.length; i++) helpers[i] = new Worker(seeds.split());
+        if (helpers.length == 0) {
+            pool = null;
+        } else {
+            ThreadPoolExecutor tpe = new ThreadPoolExecutor(helpers.length, helpers.length, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "mcts-helper");
+                    t.setDaemon(true);
+                    return t;
+                });
+            tpe.allowCoreThreadTimeOut(true);
+            pool = tpe;
+        }
+    }
+
+    /** Thread-confined playout state. */
+    private final class Worker {
+        final SplittableRandom rng;
+        final int[] path = new int[SearchBoard.MAX_PLY], movers = new int[SearchBoard.MAX_PLY];
+        final int[] buf = new int[SearchBoard.MAX_MOVES];
+        SearchBoard board;
+        int maxDepth;
+
+        Worker(SplittableRandom rng) { this.rng = rng; }
+
+        void run(Board position) {
+            board = SearchBoard.of(position);
+            maxDepth = 0;
+            AtomicBoolean stop = MctsSearch.this.stop, cancel = MctsSearch.this.cancel;
+            for (int n = 0; !stop.get() && !cancel.get(); n++) {
+                playout(this);
+                if (playouts.incrementAndGet() >= playoutLimit || ((n & 15) == 0 && System.nanoTime() >= deadline)) stop.set(true);
+            }
+        }
+    }
+
+    @Override
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval) {
+        return chooseMove(board, playerId, limits, eval, new AtomicBoolean());
+    }
+
+    @Override
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval, AtomicBoolean cancel) {
+        if (board.isTerminal()) return null;
+        // The tree is built for the side to move; search for playerId as if it were their turn
+        Board position = playerId == board.getToMove() ? board
+            : (board instanceof QuoridorBoard qb ? qb : SearchBoard.of(board).snapshot()).withToMove(playerId);
+
+        long start = System.nanoTime();
+        boolean timed = limits.timeMillis() > 0;
+        deadline = timed ? System.nanoTime() + limits.timeMillis() * 1_000_000L : Long.MAX_VALUE;
+        playoutLimit = limits.maxNodes() > 0 ? limits.maxNodes() : timed ? Long.MAX_VALUE : DEFAULT_PLAYOUTS;
+        playouts.set(0);
+        stop = new AtomicBoolean();
+        this.cancel = cancel;
+        stats.reset();
+
+        reuseOrReset(position);
+        if (state.get(root) != EXPANDED) {
+            SearchBoard sb = SearchBoard.of(position);
+            state.set(root, EXPANDING);
+            if (!expand(root, sb, main.buf) || childCount[root] == 0) return null;
+        }
+
+        List<Future<?>> running = new ArrayList<>(helpers.length);
+        for (Worker helper : helpers) running.add(pool.submit(() -> helper.run(position)));
+        try {
+            main.run(position);
+        } catch (RuntimeException | Error e) {
+            // The main thread's failure is the one to report; a helper's rides along
+            Throwable helper = stopHelpers(running);
+            if (helper != null) e.addSuppressed(helper);
+            throw e;
+        }
+        Throwable helper = stopHelpers(running);
+        if (helper != null) throw new IllegalStateException("MCTS helper failed", helper);
+
+        // Most visited child: the most robust choice, not the highest mean
+        int best = firstChild[root];
+        for (int c = firstChild[root]; c < firstChild[root] + childCount[root]; c++)
+            if (visits.get(c) > visits.get(best)) best = c;
+
+        stats.nodes = playouts.get();
+        stats.depth = main.maxDepth;
+        for (Worker w : helpers) stats.depth = Math.max(stats.depth, w.maxDepth);
+        stats.elapsedNanos = System.nanoTime() - start;
+        return position.variant().codec().decode(moveOf[best]);
+    }
+
+    /** Stops the helpers and waits for all of them; returns the first failure (later ones suppressed), or null. */
+    private Throwable stopHelpers(List<Future<?>> running) {
+        stop.set(true);
+        Throwable failure = null;
+        for (Future<?> f : running) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = e.getCause();
+                else failure.addSuppressed(e.getCause());
+            }
+        }
+        return failure;
+    }
+
+    /** Counters of the last search; {@code nodes} counts playouts and {@code depth} the deepest tree line. */
+    @Override
+    public SearchStats lastStats() { return stats; }
+
+    @Override
+    public void abort() {
+        AtomicBoolean s = stop;
+        if (s != null) s.set(true);
+    }
+
+    /** Drops the stored tree, e.g. when a new game starts. */
+    public void clear() {
+        root = -1;
+        rootBoard = null;
+    }
+
+    /** Moves the root to the node for {@code board} if the kept tree reaches it, else starts a fresh tree. */
+    private void reuseOrReset(Board board) {
+        int found = root < 0 || used.get() > capacity / 2 ? -1 : find(board.zobristKey());
+        if (found < 0) {
+            used.set(1);
+            full = false;
+            found = 0;
+            state.set(0, UNEXPANDED);
+            visits.set(0, 0);
+            wins.set(0, 0);
+        }
+        root = found;
+        rootBoard = board instanceof QuoridorBoard qb ? qb : SearchBoard.of(board).snapshot();
+    }
+
+    /** Searches the kept tree two plies deep for a node whose position has {@code key}; -1 if none. */
+    private int find(long key) {
+        if (rootBoard.zobristKey() == key) return root;
+        if (state.get(root) != EXPANDED) return -1;
+        SearchBoard sb = SearchBoard.of(rootBoard);
+        for (int c = firstChild[root]; c < firstChild[root] + childCount[root]; c++) {
+            sb.makeMove(moveOf[c]);
+            if (sb.zobristKey() == key) return c;
+            if (state.get(c) == EXPANDED) {
+                for (int g = firstChild[c]; g < firstChild[c] + childCount[c]; g++) {
+                    sb.makeMove(moveOf[g]);
+                    boolean hit = sb.zobristKey() == key;
+                    sb.unmakeMove();
+                    if (hit) return g;
+                }
+            }
+            sb.unmakeMove();
+        }
+        return -1;
+    }
+
+    /** Select, expand, play out, back up: one iteration on the worker's board. */
+    private void playout(Worker w) {
+        SearchBoard sb = w.board;
+        int node = root, len = 0;
+        visits.incrementAndGet(node);
+
+        while (len < MAX_LINE && !sb.isTerminal()) {
+            int s = state.get(node);
+            if (s == UNEXPANDED && !full && visits.get(node) >= EXPAND_VISITS
+                    && state.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                expand(node, sb, w.buf);
+                s = state.get(node);
+            }
+            if (s != EXPANDED || childCount[node] == 0) break;
+
+            int child = select(node);
+            visits.incrementAndGet(child); // virtual loss until the result is backed up
+            w.movers[len] = sb.getToMove();
+            w.path[len++] = child;
+            sb.makeMove(moveOf[child]);
+            node = child;
+        }
+        w.maxDepth = Math.max(w.maxDepth, len);
+
+        int winner = rollout(sb, w, len);
+        for (int i = len - 1; i >= 0; i--) {
+            if (winner == w.movers[i]) wins.incrementAndGet(w.path[i]);
+            sb.unmakeMove();
+        }
+    }
+
+    /**
+     * Allocates and publishes the children of {@code node}; leaves it unexpanded if the pool is full. If
+     * the candidate walls leave no move at all, every legal move is a child (as in alpha-beta).
+     */
+    private boolean expand(int node, SearchBoard sb, int[] buf) {
+        int n = sb.generateMoves(sb.getToMove(), buf, SearchWorker.DEFAULT_WALL_RING);
+        if (n == 0) n = sb.generateMoves(sb.getToMove(), buf);
+        int first = used.getAndAdd(n);
+        if (first + n > capacity) {
+            full = true;
+            state.set(node, UNEXPANDED);
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            int c = first + i;
+            moveOf[c] = buf[i];
+            visits.set(c, 0);
+            wins.set(c, 0);
+            state.set(c, UNEXPANDED);
+        }
+        firstChild[node] = first;
+        childCount[node] = n;
+        state.set(node, EXPANDED); // volatile write publishes the arrays above
+        return true;
+    }
+
+    private int select(int node) {
+        int first = firstChild[node], end = first + childCount[node];
+        double logN = Math.log(Math.max(1, visits.get(node)));
+        int best = first;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = first; c < end; c++) {
+            int v = visits.get(c);
+            if (v == 0) return c;
+            double score = (double) wins.get(c) / v + EXPLORATION * Math.sqrt(logN / v);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /** Plays the game out from the worker's board (which is left unchanged) and returns the winner. */
+    private int rollout(SearchBoard sb, Worker w, int line) {
+        int made = 0, winner;
+        while (true) {
+            Integer won = sb.getWinner();
+            if (won != null) {
+                winner = won;
+                break;
+            }
+            int pid = sb.getToMove();
+            int move = line + made < MAX_LINE ? playoutMove(sb, pid, w) : -1;
+            if (move < 0) {
+                winner = judge(sb, pid);
+                break;
+            }
+            sb.makeMove(move);
+            made++;
+        }
+        while (made-- > 0) sb.unmakeMove();
+        return winner;
+    }
+
+    private int playoutMove(SearchBoard sb, int pid, Worker w) {
+        if (sb.getWallsUsed(pid) < sb.variant().walls() && w.rng.nextInt(100) < WALL_PERCENT) {
+            int wall = blockingWall(sb, pid, w);
+            if (wall >= 0) return wall;
+        }
+        // Step to the reachable cell closest to the goal, ties broken at random
+        int n = sb.generatePawnMoves(pid, w.buf);
+        if (n == 0) {
+            n = sb.generateMoves(pid, w.buf);
+            return n == 0 ? -1 : w.buf[w.rng.nextInt(n)];
+        }
+        DistanceMap map = sb.distanceMap(pid);
+        int best = -1, bestDist = Integer.MAX_VALUE, ties = 0;
+        for (int i = 0; i < n; i++) {
+            int d = map.at(w.buf[i]);
+            if (d < bestDist) {
+                bestDist = d;
+                best = w.buf[i];
+                ties = 1;
+            } else if (d == bestDist && w.rng.nextInt(++ties) == 0) {
+                best = w.buf[i];
+            }
+        }
+        return best;
+    }
+
+    /** A random candidate wall that lengthens the opponent's path without lengthening ours, or -1. */
+    private int blockingWall(SearchBoard sb, int pid, Worker w) {
+        int opp = pid == 1 ? 2 : 1;
+        int n = sb.generateMoves(pid, w.buf, 0);
+        int walls = 0;
+        for (int i = 0; i < n; i++) if (sb.isWall(w.buf[i])) w.buf[walls++] = w.buf[i];
+        if (walls == 0) return -1;
+
+        int myDist = sb.distanceMap(pid).distance(), oppDist = sb.distanceMap(opp).distance();
+        for (int t = 0; t < WALL_TRIES; t++) {
+            int wall = w.buf[w.rng.nextInt(walls)];
+            sb.makeMove(wall);
+            boolean good = sb.distanceMap(opp).distance() > oppDist && sb.distanceMap(pid).distance() <= myDist;
+            sb.unmakeMove();
+            if (good) return wall;
+        }
+        return -1;
+    }
+
+    /** Cut-off playouts go to the side that is ahead in the race, counting the tempo of the side to move. */
+    private static int judge(SearchBoard sb, int toMove) {
+        int opp = toMove == 1 ? 2 : 1;
+        return sb.distanceMap(toMove).distance() <= sb.distanceMap(opp).distance() ? toMove : opp;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
\ No newline at end of file
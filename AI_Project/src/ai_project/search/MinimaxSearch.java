@@ -1,57 +1,64 @@
 package ai_project.search;
 
 import ai_project.board.Board;
+import ai_project.board.SearchBoard;
 import ai_project.board.model.Move;
 import ai_project.eval.EvaluationFunction;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class MinimaxSearch implements SearchStrategy {
-    private final Random rng = new Random();
+    // Default table: 2^20 entries (24 MB)
+    static final int DEFAULT_TABLE_BITS = 20;
+
+    private final TranspositionTable table;
+    private final SearchWorker worker;
+    // Stop flag of the running search, for abort()
+    private volatile AtomicBoolean stop;
+
+    public MinimaxSearch() {
+        this(new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /** The table outlives individual searches, so later calls start from what earlier ones learned. */
+    public MinimaxSearch(TranspositionTable table) {
+        this(table, new Random());
+    }
+
+    /** A seeded {@code rng} makes depth- or node-limited searches reproducible (ties are broken randomly). */
+    public MinimaxSearch(TranspositionTable table, Random rng) {
+        this.table = table;
+        this.worker = new SearchWorker(table, rng);
+    }
+
+    @Override
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval) {
+        return chooseMove(board, playerId, limits, eval, new AtomicBoolean());
+    }
 
     @Override
-    public Move chooseMove(Board board, int playerId, int depth, EvaluationFunction eval) {
-        List<Move> legal = board.getLegalMoves(playerId);
-        if (legal.isEmpty()) return null;
-        double bestScore = Double.NEGATIVE_INFINITY;
-        List<Move> bestMoves = new ArrayList<>();
-        double alpha = Double.NEGATIVE_INFINITY, beta = Double.POSITIVE_INFINITY;
-        int opponentId = (playerId == 1) ? 2 : 1;
-
-        for (Move move : legal) {
-            double score = minimax(board.applyMove(move), depth - 1, false, playerId, opponentId, eval, alpha, beta);
-            if (score > bestScore) {
-                bestScore = score;
-                bestMoves.clear();
-                bestMoves.add(move);
-            } else if (Math.abs(score - bestScore) < 1e-9) {
-                bestMoves.add(move);
-            }
-            alpha = Math.max(alpha, bestScore);
-        }
-        return bestMoves.get(rng.nextInt(bestMoves.size()));
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval, AtomicBoolean stop) {
+        table.newSearch();
+        this.stop = stop;
+        int move = worker.search(board, playerId, limits, eval, 1, false, stop);
+        return move < 0 ? null : board.variant().codec().decode(move);
     }
 
-    private double minimax(Board state, int depth, boolean maximizing, int pid, int oppId, EvaluationFunction eval, double alpha, double beta) {
-        if (depth == 0 || state.isTerminal()) return eval.evaluate(state, pid, oppId);
-        
-        int current = maximizing ? pid : oppId;
-        List<Move> moves = state.getLegalMoves(current);
-        if (moves.isEmpty()) return eval.evaluate(state, pid, oppId);
-
-        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
-        for (Move move : moves) {
-            double val = minimax(state.applyMove(move), depth - 1, !maximizing, pid, oppId, eval, alpha, beta);
-            if (maximizing) {
-                best = Math.max(best, val);
-                alpha = Math.max(alpha, best);
-            } else {
-                best = Math.min(best, val);
-                beta = Math.min(beta, best);
-            }
-            if (beta <= alpha) break;
-        }
-        return best;
+    /**
+     * Besides walls that cut a shortest path, searches only walls within {@code wallRing} anchors of
+     * a pawn (default 1); {@link SearchBoard#ALL_WALLS} searches every legal wall.
+     */
+    public void setWallRing(int wallRing) { worker.setWallRing(wallRing); }
+
+    @Override
+    public void setListener(SearchListener listener) { worker.setListener(listener); }
+
+    @Override
+    public void abort() {
+        AtomicBoolean s = stop;
+        if (s != null) s.set(true);
     }
+
+    @Override
+    public SearchStats lastStats() { return worker.stats(); }
 }
\ No newline at end of file
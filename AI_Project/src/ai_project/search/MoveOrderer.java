@@ -0,0 +1,69 @@
+package ai_project.search;
+
+import ai_project.board.DistanceMap;
+import ai_project.board.SearchBoard;
+
+/**
+ * Orders moves between generation and search: the transposition-table move first, then this ply's
+ * killer moves, then pawn steps that shorten the mover's path, then everything else by history score.
+ * Moves are picked lazily (selection of the best remaining move), so a node that cuts off early never
+ * pays for a full sort. One orderer per {@link SearchWorker}.
+ */
+final class MoveOrderer {
+    private static final int TT_SCORE = 1 << 30;
+    private static final int KILLER_SCORE = 1 << 29;
+    private static final int SHORTENING_STEP_SCORE = 1 << 28;
+    private static final int HISTORY_CAP = 1 << 27;
+
+    private final int[][] killers = new int[SearchBoard.MAX_PLY][2];
+    private int[][] history = new int[3][0]; // [playerId][move]
+
+    /**
+     * Forgets killers and decays history so the next search favours what it learns itself. History
+     * starts over when the board's {@code codeSpace} (see {@link ai_project.board.model.MoveCodec}) changes.
+     */
+    void newSearch(int codeSpace) {
+        for (int[] k : killers) { k[0] = TranspositionTable.NO_MOVE; k[1] = TranspositionTable.NO_MOVE; }
+        if (history[0].length != codeSpace) history = new int[3][codeSpace];
+        else for (int[] h : history) for (int i = 0; i < codeSpace; i++) h[i] >>= 2;
+    }
+
+    /** Fills {@code scores} for the first {@code n} moves of {@code pid} at {@code ply}. */
+    void score(SearchBoard state, int[] moves, int[] scores, int n, int ttMove, int ply, int pid) {
+        DistanceMap map = null;
+        int[] k = killers[ply];
+        for (int i = 0; i < n; i++) {
+            int m = moves[i];
+            if (m == ttMove) scores[i] = TT_SCORE;
+            else if (m == k[0]) scores[i] = KILLER_SCORE;
+            else if (m == k[1]) scores[i] = KILLER_SCORE - 1;
+            else {
+                int s = history[pid][m];
+                if (!state.isWall(m)) {
+                    if (map == null) map = state.distanceMap(pid);
+                    if (map.at(m) < map.distance()) s += SHORTENING_STEP_SCORE;
+                }
+                scores[i] = s;
+            }
+        }
+    }
+
+    /** Swaps the best-scored move among {@code [i, n)} into slot {@code i} and returns it. */
+    int pick(int[] moves, int[] scores, int i, int n) {
+        int best = i;
+        for (int j = i + 1; j < n; j++) if (scores[j] > scores[best]) best = j;
+        if (best != i) {
+            int m = moves[i]; moves[i] = moves[best]; moves[best] = m;
+            int s = scores[i]; scores[i] = scores[best]; scores[best] = s;
+        }
+        return moves[i];
+    }
+
+    /** Records a move that caused a cutoff at {@code depth} remaining plies. */
+    void onCutoff(int move, int ply, int pid, int depth) {
+        int[] k = killers[ply];
+        if (k[0] != move) { k[1] = k[0]; k[0] = move; }
+        int h = history[pid][move] + depth * depth;
+        history[pid][move] = Math.min(h, HISTORY_CAP);
+    }
+}
\ No newline at end of file
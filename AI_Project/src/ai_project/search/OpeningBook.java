@@ -0,0 +1,107 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.Variant;
+import ai_project.board.model.Move;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Precomputed moves for early positions, stored as a sorted array of fixed-size records keyed by the
+ * position's Zobrist key (stable across runs, see {@code Zobrist}). The file is memory-mapped, so
+ * opening a book reads nothing onto the heap and a lookup is a binary search over the mapping.
+ *
+ * Layout (big-endian): header {@code magic, version, count, 0} as ints, then {@code count} records of
+ * {@code long key, int move (MoveCodec), int depth} in ascending key order.
+ */
+public final class OpeningBook {
+
+    /** Book used by {@code AIBot} when none is given: {@code -Dquoridor.book=<file>}, else ./quoridor.book. */
+    public static final String DEFAULT_FILE = System.getProperty("quoridor.book", "quoridor.book");
+
+    private static final int MAGIC = 0x51424F4B; // "QBOK"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16, RECORD = 16;
+
+    public record Entry(long key, int move, int depth) { }
+
+    private final ByteBuffer records;
+    private final int count;
+
+    private OpeningBook(ByteBuffer records, int count) {
+        this.records = records;
+        this.count = count;
+    }
+
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (map.limit() < HEADER || map.getInt(0) != MAGIC)
+                throw new IOException("Not an opening book: " + file);
+            if (map.getInt(4) != VERSION)
+                throw new IOException("Unsupported opening book version " + map.getInt(4) + ": " + file);
+            int count = map.getInt(8);
+            if (map.limit() != HEADER + (long) count * RECORD)
+                throw new IOException("Truncated opening book: " + file);
+            return new OpeningBook(map.position(HEADER).slice(), count);
+        }
+    }
+
+    /** The default book, or null if there is none or it cannot be read (search then runs as usual). */
+    public static OpeningBook openDefault() {
+        Path file = Path.of(DEFAULT_FILE);
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            return open(file);
+        } catch (IOException e) {
+            System.err.println("Ignoring opening book: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int size() { return count; }
+
+    /** Book move for {@code board} (for its side to move), or null if the position is not in the book. */
+    public Move lookup(Board board) {
+        // Books are built on the standard board only
+        if (board.variant() != Variant.STANDARD) return null;
+        long key = board.zobristKey();
+        int lo = 0, hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long k = records.getLong(mid * RECORD);
+            if (k < key) lo = mid + 1;
+            else if (k > key) hi = mid - 1;
+            else return Variant.STANDARD.codec().decode(records.getInt(mid * RECORD + 8));
+        }
+        return null;
+    }
+
+    /** Writes {@code entries} as a book file; keys must be unique. */
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::key));
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + sorted.size() * RECORD).order(ByteOrder.BIG_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(0);
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry e = sorted.get(i);
+            if (i > 0 && sorted.get(i - 1).key() == e.key())
+                throw new IllegalArgumentException("Duplicate book key: " + Long.toHexString(e.key()));
+            buf.putLong(e.key()).putInt(e.move()).putInt(e.depth());
+        }
+        buf.flip();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+}
\ No newline at end of file
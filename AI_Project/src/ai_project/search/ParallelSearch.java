@@ -0,0 +1,133 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.SearchBoard;
+import ai_project.board.model.Move;
+import ai_project.eval.EvaluationFunction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lazy SMP: every thread runs the same iterative-deepening search on its own board, sharing one
+ * transposition table. Helpers start at alternating depths with shuffled root orders, so they fill the
+ * table with entries the main thread then hits. The main thread runs on the caller and its result is
+ * returned; helpers are stopped as soon as it finishes.
+ *
+ * With {@code threads == 1} no helper runs and, given a seed and a depth or node limit, results are
+ * fully deterministic.
+ */
+public final class ParallelSearch implements SearchStrategy, AutoCloseable {
+
+    private final TranspositionTable table = new TranspositionTable(MinimaxSearch.DEFAULT_TABLE_BITS);
+    private final SearchWorker main;
+    private final SearchWorker[] helpers;
+    private final ExecutorService pool;
+    // Caller's stop flag of the running search, for abort()
+    private volatile AtomicBoolean stop;
+
+    public ParallelSearch(int threads) {
+        this(threads, new Random().nextLong());
+    }
+
+    public ParallelSearch(int threads, long seed) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1: " + threads);
+        main = new SearchWorker(table, new Random(seed));
+        helpers = new SearchWorker[threads - 1];
+        for (int i = 0; i < helpers.length; i++) helpers[i] = new SearchWorker(table, new Random(seed + i + 1));
+        if (helpers.length == 0) {
+            pool = null;
+        } else {
+            // Idle helpers time out, so abandoned instances do not pin threads
+            ThreadPoolExecutor tpe = new ThreadPoolExecutor(helpers.length, helpers.length, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "search-helper");
+                    t.setDaemon(true);
+                    return t;
+                });
+            tpe.allowCoreThreadTimeOut(true);
+            pool = tpe;
+        }
+    }
+
+    @Override
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval) {
+        return chooseMove(board, playerId, limits, eval, new AtomicBoolean());
+    }
+
+    @Override
+    public Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval, AtomicBoolean stop) {
+        table.newSearch();
+        this.stop = stop;
+        // Helpers watch their own flag, so ending them never marks the caller's search as stopped
+        AtomicBoolean helpersStop = new AtomicBoolean();
+        List<Future<?>> running = new ArrayList<>(helpers.length);
+        for (int i = 0; i < helpers.length; i++) {
+            SearchWorker helper = helpers[i];
+            int firstDepth = 1 + (i % 2);
+            running.add(pool.submit(() -> helper.search(board, playerId, limits, eval, firstDepth, true, helpersStop)));
+        }
+
+        int move;
+        try {
+            move = main.search(board, playerId, limits, eval, 1, false, stop);
+        } catch (RuntimeException | Error e) {
+            // The main search's failure is the one to report; a helper's rides along
+            Throwable helper = stopHelpers(helpersStop, running);
+            if (helper != null) e.addSuppressed(helper);
+            throw e;
+        }
+        Throwable helper = stopHelpers(helpersStop, running);
+        if (helper != null) throw new IllegalStateException("Search helper failed", helper);
+        return move < 0 ? null : board.variant().codec().decode(move);
+    }
+
+    /** Stops the helpers and waits for all of them; returns the first failure (later ones suppressed), or null. */
+    private static Throwable stopHelpers(AtomicBoolean helpersStop, List<Future<?>> running) {
+        helpersStop.set(true);
+        Throwable failure = null;
+        for (Future<?> f : running) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = e.getCause();
+                else failure.addSuppressed(e.getCause());
+            }
+        }
+        return failure;
+    }
+
+    /** Candidate-wall ring for every thread, see {@link MinimaxSearch#setWallRing}. */
+    public void setWallRing(int wallRing) {
+        main.setWallRing(wallRing);
+        for (SearchWorker helper : helpers) helper.setWallRing(wallRing);
+    }
+
+    /** Progress of the main thread. */
+    @Override
+    public void setListener(SearchListener listener) { main.setListener(listener); }
+
+    @Override
+    public void abort() {
+        AtomicBoolean s = stop;
+        if (s != null) s.set(true);
+    }
+
+    /** Counters of the main thread only. */
+    @Override
+    public SearchStats lastStats() { return main.stats(); }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
\ No newline at end of file
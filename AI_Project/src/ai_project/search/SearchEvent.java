@@ -0,0 +1,23 @@
+package ai_project.search;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one completed iterative-deepening iteration; its duration is the iteration's wall time
+ * and the counters are totals since the search started. Costs nothing unless a recording enables it.
+ */
+@Name("ai_project.SearchIteration")
+@Label("Search Iteration")
+@Category("Quoridor")
+@Description("One completed iteration of the minimax search")
+final class SearchEvent extends Event {
+    @Label("Depth") int depth;
+    @Label("Nodes") long nodes;
+    @Label("Transposition Hits") long ttHits;
+    @Label("Evaluations") long evalCalls;
+    @Label("Score") double score;
+}
\ No newline at end of file
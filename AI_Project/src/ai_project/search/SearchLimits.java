@@ -0,0 +1,14 @@
+package ai_project.search;
+
+/**
+ * How far a search may go. Iterative deepening stops at {@code maxDepth} or when the time or node
+ * budget runs out, whichever comes first; a budget of 0 means unlimited.
+ */
+public record SearchLimits(int maxDepth, long timeMillis, long maxNodes) {
+    /** Deepest iteration a budget-only search will attempt. */
+    public static final int MAX_DEPTH = 32;
+
+    public static SearchLimits depth(int depth) { return new SearchLimits(depth, 0, 0); }
+    public static SearchLimits time(long millis) { return new SearchLimits(MAX_DEPTH, millis, 0); }
+    public static SearchLimits nodes(long nodes) { return new SearchLimits(MAX_DEPTH, 0, nodes); }
+}
\ No newline at end of file
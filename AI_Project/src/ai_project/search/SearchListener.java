@@ -0,0 +1,13 @@
+package ai_project.search;
+
+import ai_project.board.model.Move;
+
+/**
+ * Progress of a running search, called on the searching thread after every completed iteration.
+ * Implementations must be quick and must not touch the board being searched.
+ */
+@FunctionalInterface
+public interface SearchListener {
+    /** {@code score} is from the searching player's point of view. */
+    void onIteration(int depth, Move bestMove, double score);
+}
\ No newline at end of file
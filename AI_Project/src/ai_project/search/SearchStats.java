@@ -0,0 +1,101 @@
+package ai_project.search;
+
+import java.util.Arrays;
+
+/**
+ * Counters from the most recent search of one worker. The first-move cutoff rate is the share of
+ * beta cutoffs produced by the first move tried, i.e. how well moves are ordered. Floods are the
+ * breadth-first searches the board ran (path lengths, distance maps, wall legality checks).
+ *
+ * Strategies reuse one instance across searches; {@link #copy} keeps a result, {@link #add} sums
+ * results across moves or games.
+ */
+public final class SearchStats {
+    int depth;
+    long nodes;
+    long betaCutoffs;
+    long firstMoveCutoffs;
+    long ttProbes;
+    long ttHits;
+    long evalCalls;
+    long floods;
+    long elapsedNanos;
+    // Wall time of each completed iteration, indexed by depth
+    private long[] iterationNanos = new long[SearchLimits.MAX_DEPTH + 1];
+
+    void reset() {
+        depth = 0;
+        nodes = 0;
+        betaCutoffs = 0;
+        firstMoveCutoffs = 0;
+        ttProbes = 0;
+        ttHits = 0;
+        evalCalls = 0;
+        floods = 0;
+        elapsedNanos = 0;
+        Arrays.fill(iterationNanos, 0L);
+    }
+
+    void iterationDone(int depth, long nanos) {
+        if (depth >= iterationNanos.length) iterationNanos = Arrays.copyOf(iterationNanos, depth + 1);
+        iterationNanos[depth] += nanos;
+    }
+
+    /** Deepest iteration that completed. */
+    public int depth() { return depth; }
+    public long nodes() { return nodes; }
+    public long betaCutoffs() { return betaCutoffs; }
+    public long firstMoveCutoffs() { return firstMoveCutoffs; }
+    public long ttProbes() { return ttProbes; }
+    public long ttHits() { return ttHits; }
+    public long evalCalls() { return evalCalls; }
+    public long floods() { return floods; }
+    public long elapsedNanos() { return elapsedNanos; }
+
+    /** Time spent in the iteration of {@code depth}, 0 if it never completed. */
+    public long iterationNanos(int depth) {
+        return depth < iterationNanos.length ? iterationNanos[depth] : 0L;
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    public double firstMoveCutoffRate() {
+        return betaCutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+
+    public double ttHitRate() {
+        return ttProbes == 0 ? 0.0 : (double) ttHits / ttProbes;
+    }
+
+    /** Independent copy, unaffected by later searches. */
+    public SearchStats copy() {
+        SearchStats c = new SearchStats();
+        c.add(this);
+        c.depth = depth;
+        return c;
+    }
+
+    /** Adds the counters of {@code other}; depth becomes the deeper of the two. */
+    public void add(SearchStats other) {
+        depth = Math.max(depth, other.depth);
+        nodes += other.nodes;
+        betaCutoffs += other.betaCutoffs;
+        firstMoveCutoffs += other.firstMoveCutoffs;
+        ttProbes += other.ttProbes;
+        ttHits += other.ttHits;
+        evalCalls += other.evalCalls;
+        floods += other.floods;
+        elapsedNanos += other.elapsedNanos;
+        for (int d = 0; d < other.iterationNanos.length; d++) {
+            if (other.iterationNanos[d] != 0L) iterationDone(d, other.iterationNanos[d]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth=%d nodes=%d (%.0f/s) cutoffs=%d first-move=%.1f%% tt-hits=%.1f%% evals=%d floods=%d",
+            depth, nodes, nodesPerSecond(), betaCutoffs, 100 * firstMoveCutoffRate(), 100 * ttHitRate(), evalCalls, floods);
+    }
+}
\ No newline at end of file
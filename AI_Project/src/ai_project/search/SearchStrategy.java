@@ -2,7 +2,33 @@ package ai_project.search;
 import ai_project.board.Board;
 import ai_project.board.model.Move;
 import ai_project.eval.EvaluationFunction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public interface SearchStrategy {
-    Move chooseMove(Board board, int playerId, int depth, EvaluationFunction eval);
+    Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval);
+
+    default Move chooseMove(Board board, int playerId, int depth, EvaluationFunction eval) {
+        return chooseMove(board, playerId, SearchLimits.depth(depth), eval);
+    }
+
+    /**
+     * Like {@link #chooseMove(Board, int, SearchLimits, EvaluationFunction)}, but also returns early with
+     * the best move so far once the caller sets {@code stop}, even if it was set before the search began.
+     * Strategies without a stop check ignore it.
+     */
+    default Move chooseMove(Board board, int playerId, SearchLimits limits, EvaluationFunction eval, AtomicBoolean stop) {
+        return chooseMove(board, playerId, limits, eval);
+    }
+
+    /** Receives progress from later searches; null removes it. Strategies that report none ignore it. */
+    default void setListener(SearchListener listener) { }
+
+    /**
+     * Asks a {@link #chooseMove} running on another thread to finish early with its best move so far;
+     * no effect if none is running. Strategies without a stop check ignore it.
+     */
+    default void abort() { }
+
+    /** Counters of the last {@link #chooseMove} call, or null if the strategy keeps none. */
+    default SearchStats lastStats() { return null; }
 }
\ No newline at end of file
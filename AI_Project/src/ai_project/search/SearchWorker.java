@@ -0,0 +1,271 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.SearchBoard;
+import ai_project.eval.EvaluationFunction;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening alpha-beta over a {@link SearchBoard}. Holds all per-search state, so one worker
+ * runs one search at a time; several workers may share a {@link TranspositionTable} (Lazy SMP).
+ */
+final class SearchWorker {
+    // Scores are from the searching player's view, so keep the two players' entries apart
+    private static final long PLAYER2_KEY = 0x9E3779B97F4A7C15L;
+    // PathLengthEvaluation scores a finished game at +/- 1,000,000
+    private static final double DECISIVE_SCORE = 1_000_000.0;
+    // Walls searched besides those cutting a shortest path: anchors within this ring of a pawn
+    static final int DEFAULT_WALL_RING = 1;
+
+    private final TranspositionTable table;
+    private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+    private final Random rng;
+    private final MoveOrderer orderer = new MoveOrderer();
+    private final SearchStats stats = new SearchStats();
+    // Scores of the children of a frontier node, where every child is a leaf
+    private final double[] leafScores = new double[SearchBoard.MAX_MOVES];
+    private int wallRing = DEFAULT_WALL_RING;
+    private SearchListener listener;
+
+    // Per-search state
+    private AtomicBoolean stop;
+    private long deadline, nodeLimit, nodes;
+    private boolean aborted;
+    private double rootScore;
+
+    SearchWorker(TranspositionTable table, Random rng) {
+        this.table = table;
+        this.rng = rng;
+    }
+
+    /** Sets the pawn ring for candidate walls; {@link SearchBoard#ALL_WALLS} searches every legal wall. */
+    void setWallRing(int wallRing) { this.wallRing = wallRing; }
+
+    /** Told about every completed iteration; may be null. */
+    void setListener(SearchListener listener) { this.listener = listener; }
+
+    /** Counters of the last {@link #search}; reset when the next one starts. */
+    SearchStats stats() { return stats; }
+
+    /**
+     * Searches {@code board} for {@code playerId} and returns the chosen int move, or -1 without legal moves.
+     * Iterations start at {@code firstDepth}; {@code shuffleRoot} randomizes the initial root order so helper
+     * workers explore different subtrees. The search also ends as soon as {@code stop} is set (may be null).
+     */
+    int search(Board board, int playerId, SearchLimits limits, EvaluationFunction eval,
+               int firstDepth, boolean shuffleRoot, AtomicBoolean stop) {
+        long start = System.nanoTime();
+        this.stop = stop;
+        deadline = limits.timeMillis() > 0 ? System.nanoTime() + limits.timeMillis() * 1_000_000L : Long.MAX_VALUE;
+        nodeLimit = limits.maxNodes() > 0 ? limits.maxNodes() : Long.MAX_VALUE;
+        nodes = 0;
+        aborted = false;
+        stats.reset();
+
+        // Search runs on a mutable copy with make/unmake and one preallocated move buffer per ply
+        SearchBoard state = SearchBoard.of(board);
+        orderer.newSearch(board.variant().codec().codeSpace());
+        int maxDepth = Math.max(limits.maxDepth(), 1);
+        int[][] moveStack = new int[maxDepth][SearchBoard.MAX_MOVES];
+        int[][] scoreStack = new int[maxDepth][SearchBoard.MAX_MOVES];
+
+        int[] legal = moveStack[0];
+        int n = generate(state, playerId, legal);
+        if (n == 0) return -1;
+        if (shuffleRoot) shuffle(legal, n);
+        int[] bestMoves = new int[n];
+
+        // Iterative deepening: keep the result of the last iteration that finished in budget
+        int chosen = legal[0];
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            long iterationStart = System.nanoTime();
+            SearchEvent event = new SearchEvent();
+            event.begin();
+            int bestCount = searchRoot(state, playerId, depth, eval, moveStack, scoreStack, n, bestMoves);
+            if (aborted) break;
+            chosen = bestMoves[rng.nextInt(bestCount)];
+            stats.depth = depth;
+            stats.iterationDone(depth, System.nanoTime() - iterationStart);
+            if (listener != null) listener.onIteration(depth, state.decode(chosen), rootScore);
+            if (event.shouldCommit()) {
+                event.depth = depth;
+                event.nodes = nodes;
+                event.ttHits = stats.ttHits;
+                event.evalCalls = stats.evalCalls;
+                event.score = rootScore;
+                event.commit();
+            }
+            table.store(keyOf(state, playerId), depth, TranspositionTable.EXACT, rootScore, chosen);
+            if (Math.abs(rootScore) >= DECISIVE_SCORE) break; // forced win / loss found, deeper adds nothing
+        }
+        stats.nodes = nodes;
+        stats.floods = state.floods();
+        stats.elapsedNanos = System.nanoTime() - start;
+        return chosen;
+    }
+
+    /** One fixed-depth pass over the root moves; fills {@code bestMoves} and returns how many tie for best. */
+    private int searchRoot(SearchBoard state, int playerId, int depth, EvaluationFunction eval,
+                           int[][] moveStack, int[][] scoreStack, int n, int[] bestMoves) {
+        int[] legal = moveStack[0];
+        if (probe(keyOf(state, playerId))) moveToFront(legal, n, entry.move);
+
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int bestCount = 0;
+        double alpha = Double.NEGATIVE_INFINITY, beta = Double.POSITIVE_INFINITY;
+        int opponentId = (playerId == 1) ? 2 : 1;
+
+        for (int i = 0; i < n; i++) {
+            int move = legal[i];
+            state.makeMove(move);
+            double score = minimax(state, depth - 1, false, playerId, opponentId, eval, alpha, beta,
+                                   moveStack, scoreStack, 1);
+            state.unmakeMove();
+            if (aborted) return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                bestCount = 0;
+                bestMoves[bestCount++] = move;
+            } else if (Math.abs(score - bestScore) < 1e-9) {
+                bestMoves[bestCount++] = move;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        rootScore = bestScore;
+        return bestCount;
+    }
+
+    /**
+     * Counts a node and checks the budgets. The first iteration always runs to completion unless
+     * {@code stop} is set, which ends the search at once (the root's first move is the answer then).
+     */
+    private boolean outOfBudget(int iterationDepth) {
+        if (++nodes % 1024 != 0) return false;
+        if (stop != null && stop.get()) aborted = true;
+        else if (iterationDepth > 1 && (nodes >= nodeLimit || System.nanoTime() >= deadline)) aborted = true;
+        return aborted;
+    }
+
+    private double minimax(SearchBoard state, int depth, boolean maximizing, int pid, int oppId, EvaluationFunction eval,
+                           double alpha, double beta, int[][] moveStack, int[][] scoreStack, int ply) {
+        if (outOfBudget(depth + ply)) return 0.0;
+        if (depth <= 0 || state.isTerminal()) return evaluate(state, pid, oppId, eval);
+
+        // Transposition cutoff / window narrowing
+        long key = keyOf(state, pid);
+        double alphaOrig = alpha, betaOrig = beta;
+        int ttMove = TranspositionTable.NO_MOVE;
+        if (probe(key)) {
+            ttMove = entry.move;
+            if (entry.depth >= depth) {
+                if (entry.bound == TranspositionTable.EXACT) return entry.score;
+                if (entry.bound == TranspositionTable.LOWER) alpha = Math.max(alpha, entry.score);
+                else beta = Math.min(beta, entry.score);
+                if (beta <= alpha) return entry.score;
+            }
+        }
+
+        int current = maximizing ? pid : oppId;
+        int[] moves = moveStack[ply];
+        int n = generate(state, current, moves);
+        if (n == 0) return evaluate(state, pid, oppId, eval);
+        int[] scores = scoreStack[ply];
+        orderer.score(state, moves, scores, n, ttMove, ply, current);
+        // At the frontier every child is a leaf: the evaluation scores them in batches instead
+        double[] leaves = depth == 1 ? leafScores : null;
+        int scored = 0;
+
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < n; i++) {
+            double val;
+            int move;
+            if (leaves != null) {
+                // Batches double from a single child, so a node that cuts off early scores few spares;
+                // each batch is put in visiting order first, after which picking it is a no-op
+                if (i == scored) {
+                    scored = Math.min(n, Math.max(1, 2 * i));
+                    for (int j = i; j < scored; j++) orderer.pick(moves, scores, j, n);
+                    evaluateChildren(state, moves, i, scored, pid, oppId, eval, leaves);
+                }
+                move = moves[i];
+                if (outOfBudget(depth + ply)) return 0.0; // the leaf's own node, as minimax would count it
+                val = leaves[i];
+            } else {
+                move = orderer.pick(moves, scores, i, n);
+                state.makeMove(move);
+                val = minimax(state, depth - 1, !maximizing, pid, oppId, eval, alpha, beta,
+                              moveStack, scoreStack, ply + 1);
+                state.unmakeMove();
+                if (aborted) return 0.0; // partial result: never let it reach the table
+            }
+            if (i == 0) bestMove = move;
+            if (maximizing ? val > best : val < best) {
+                best = val;
+                bestMove = move;
+            }
+            if (maximizing) alpha = Math.max(alpha, best);
+            else beta = Math.min(beta, best);
+            if (beta <= alpha) {
+                stats.betaCutoffs++;
+                if (i == 0) stats.firstMoveCutoffs++;
+                orderer.onCutoff(move, ply, current, depth);
+                break;
+            }
+        }
+
+        int bound = best <= alphaOrig ? TranspositionTable.UPPER
+                  : best >= betaOrig ? TranspositionTable.LOWER
+                  : TranspositionTable.EXACT;
+        table.store(key, depth, bound, best, bestMove);
+        return best;
+    }
+
+    /** Table probe into {@link #entry}, counted in the stats. */
+    private boolean probe(long key) {
+        stats.ttProbes++;
+        if (!table.probe(key, entry)) return false;
+        stats.ttHits++;
+        return true;
+    }
+
+    private double evaluate(SearchBoard state, int pid, int oppId, EvaluationFunction eval) {
+        stats.evalCalls++;
+        return eval.evaluate(state, pid, oppId);
+    }
+
+    private void evaluateChildren(SearchBoard state, int[] moves, int from, int to, int pid, int oppId,
+                                  EvaluationFunction eval, double[] out) {
+        stats.evalCalls += to - from;
+        eval.evaluateChildren(state, moves, from, to, pid, oppId, out);
+    }
+
+    /** Candidate moves for the search; falls back to every legal wall if the pawn itself cannot move. */
+    private int generate(SearchBoard state, int pid, int[] out) {
+        int n = state.generateMoves(pid, out, wallRing);
+        return n > 0 || wallRing == SearchBoard.ALL_WALLS ? n : state.generateMoves(pid, out);
+    }
+
+    private static long keyOf(SearchBoard state, int pid) {
+        return pid == 2 ? state.zobristKey() ^ PLAYER2_KEY : state.zobristKey();
+    }
+
+    /** Moves {@code move} to index 0 keeping the rest in generation order; no-op if it is not in the list. */
+    private static void moveToFront(int[] moves, int n, int move) {
+        for (int i = 0; i < n; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private void shuffle(int[] moves, int n) {
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = moves[i]; moves[i] = moves[j]; moves[j] = t;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package ai_project.search;
+
+/**
+ * Fixed-size transposition table on parallel primitive arrays, indexed by the low bits of the Zobrist key.
+ * Each slot holds the key (xor-ed with its payload so torn concurrent writes read as misses), a packed
+ * info word (best move, depth, bound, age) and the score.
+ *
+ * Replacement: one entry per slot. An entry written by an older search ({@link #newSearch} bumps the
+ * age) is always replaced; within the current search, a new entry replaces the old one only if it was
+ * searched at least as deep. Scores are stored as-is, so callers must keep one score perspective per key.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 1, LOWER = 2, UPPER = 3;
+    public static final int NO_MOVE = -1;
+
+    private final long[] keys, infos, scores;
+    private final int mask;
+    private int age;
+
+    /** @param log2Entries table holds {@code 2^log2Entries} entries of 24 bytes each */
+    public TranspositionTable(int log2Entries) {
+        int size = 1 << log2Entries;
+        keys = new long[size]; infos = new long[size]; scores = new long[size];
+        mask = size - 1;
+    }
+
+    /** Starts a new search generation, making older entries replaceable. */
+    public void newSearch() { age = (age + 1) & 0x3F; }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, 0L);
+        java.util.Arrays.fill(infos, 0L);
+        java.util.Arrays.fill(scores, 0L);
+    }
+
+    /** Caller-owned probe result, reused across probes to keep lookups allocation-free. */
+    public static final class Entry {
+        public int move, depth, bound;
+        public double score;
+    }
+
+    /** Copies the entry for {@code key} into {@code out}; returns false on a miss. */
+    public boolean probe(long key, Entry out) {
+        int i = (int) key & mask;
+        long info = infos[i], score = scores[i];
+        if (info == 0L || (keys[i] ^ info ^ score) != key) return false;
+        out.move = (int) (info & 0xFFFF) - 1;
+        out.depth = (int) (info >>> 16) & 0xFF;
+        out.bound = (int) (info >>> 24) & 0x3;
+        out.score = Double.longBitsToDouble(score);
+        return true;
+    }
+
+    public void store(long key, int depth, int bound, double score, int move) {
+        int i = (int) key & mask;
+        long old = infos[i];
+        if (old != 0L) {
+            boolean stale = ((old >>> 26) & 0x3F) != age;
+            int oldDepth = (int) (old >>> 16) & 0xFF;
+            if (!stale && depth < oldDepth) return;
+        }
+        long info = (move + 1L) | ((long) depth << 16) | ((long) bound << 24) | ((long) age << 26);
+        long bits = Double.doubleToRawLongBits(score);
+        infos[i] = info;
+        scores[i] = bits;
+        keys[i] = key ^ info ^ bits;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveCodec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Record files and text survive a round trip, old files still load, and the autosave tracks undo / redo. */
+public class GameRecordTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void fileRoundTripKeepsVariantAndMoves() throws IOException {
+        for (String variant : new String[] {"9x9/10", "5x5", "11x11/13"}) {
+            GameRecord game = randomGame(Variant.parse(variant), 60, 23);
+            Path file = tmp.newFile().toPath();
+            game.write(file);
+            assertSameGame(variant, game, GameRecord.read(file));
+        }
+    }
+
+    @Test
+    public void textRoundTripKeepsVariantAndMoves() {
+        for (String variant : new String[] {"9x9/10", "5x5", "11x11/13"}) {
+            GameRecord game = randomGame(Variant.parse(variant), 60, 23);
+            String text = game.toText();
+            assertEquals(variant, !game.variant().equals(Variant.STANDARD), text.startsWith(variant));
+            assertSameGame(variant, game, GameRecord.parse(text));
+        }
+    }
+
+    @Test
+    public void readsVersionOneFiles() throws IOException {
+        GameRecord game = randomGame(Variant.STANDARD, 40, 1);
+        MoveCodec codec = Variant.STANDARD.codec();
+        ByteBuffer buf = ByteBuffer.allocate(8 + game.ply());
+        buf.putInt(0x51524543).putInt(1);
+        for (int i = 0; i < game.ply(); i++) buf.put((byte) codec.encode(game.moveAt(i)));
+        Path file = tmp.newFile().toPath();
+        Files.write(file, buf.array());
+        assertSameGame("v1", game, GameRecord.read(file));
+    }
+
+    @Test
+    public void autosaveFollowsUndoAndRedo() throws IOException {
+        Path file = tmp.newFile().toPath();
+        GameRecord game = randomGame(Variant.parse("7x7"), 20, 5);
+        game.autosaveTo(file);
+        game.undo();
+        game.undo();
+        assertSameGame("after undo", game, GameRecord.read(file));
+        game.redo();
+        assertSameGame("after redo", game, GameRecord.read(file));
+        List<Move> legal = game.current().getLegalMoves(game.current().getToMove());
+        game.play(legal.get(legal.size() - 1));
+        assertFalse(game.canRedo());
+        assertSameGame("after play", game, GameRecord.read(file));
+        game.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalMoveIsRejected() {
+        new GameRecord().play(Move.pawn(4, 4));
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptFileIsRejected() throws IOException {
+        Path file = tmp.newFile().toPath();
+        Files.write(file, new byte[] {0x51, 0x52, 0x45, 0x43, 0, 0, 0, 2, 9, 10, 0, 0, 0x7F});
+        GameRecord.read(file);
+    }
+
+    private static GameRecord randomGame(Variant variant, int plies, long seed) {
+        Random rng = new Random(seed);
+        GameRecord game = new GameRecord(variant);
+        while (game.ply() < plies && !game.current().isTerminal()) {
+            List<Move> legal = game.current().getLegalMoves(game.current().getToMove());
+            game.play(legal.get(rng.nextInt(legal.size())));
+        }
+        return game;
+    }
+
+    private static void assertSameGame(String where, GameRecord expected, GameRecord actual) {
+        assertEquals(where, expected.variant(), actual.variant());
+        assertEquals(where, expected.ply(), actual.ply());
+        for (int i = 0; i < expected.ply(); i++) assertEquals(where + " ply " + i, expected.moveAt(i), actual.moveAt(i));
+        assertEquals(where, expected.current().zobristKey(), actual.current().zobristKey());
+        assertTrue(where, actual.ply() == actual.size());
+    }
+}
\ No newline at end of file
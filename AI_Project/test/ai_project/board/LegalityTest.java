@@ -0,0 +1,52 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveCodec;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/** The single-move checks ({@code isLegal}, {@code tryApply}) agree with full move generation on every move code. */
+public class LegalityTest {
+
+    @Test
+    public void singleMoveChecksMatchGeneratedMoves() {
+        for (String variant : new String[] {"9x9/10", "5x5", "11x11/14"}) {
+            Variant v = Variant.parse(variant);
+            MoveCodec codec = v.codec();
+            for (Board board : RandomPositions.of(v, 22, 4, 60)) {
+                int pid = board.getToMove();
+                Set<Move> legal = board.isTerminal() ? Set.of() : new HashSet<>(board.getLegalMoves(pid));
+                SearchBoard search = SearchBoard.of(board);
+                for (int code = 0; code < codec.codeSpace(); code++) {
+                    Move m = codec.decode(code);
+                    if (m == null) continue;
+                    boolean expected = legal.contains(m);
+                    String where = variant + " " + m + " in " + board.zobristKey();
+                    assertEquals(where, expected, board.isLegal(m));
+                    assertEquals(where, expected, search.isLegal(code));
+                    Board next = board.tryApply(m);
+                    if (expected) {
+                        assertNotNull(where, next);
+                        assertEquals(where, board.applyMove(m).zobristKey(), next.zobristKey());
+                    } else {
+                        assertNull(where, next);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void movesOffTheBoardAreIllegal() {
+        Board start = new QuoridorBoard(Variant.of(5));
+        assertFalse(start.isLegal(Move.pawn(5, 2)));
+        assertFalse(start.isLegal(Move.pawn(-1, 2)));
+        assertNull(start.tryApply(Move.pawn(5, 2)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Leaf counts of the full legal game tree below the start position, walked once through the {@link Board}
+ * interface and once with {@link SearchBoard}'s make / unmake. {@code ant perft} times the same walkers.
+ */
+public class PerftTest {
+
+    /** Leaf counts from the standard start position for depths 1..3, from the original List-based generator. */
+    private static final long[] START_COUNTS = {1, 131, 16_677, 2_062_264};
+
+    @Test
+    public void boardWalkerMatchesKnownCounts() {
+        for (int depth = 1; depth < START_COUNTS.length; depth++)
+            assertEquals("depth " + depth, START_COUNTS[depth], perft(new QuoridorBoard(), depth));
+    }
+
+    @Test
+    public void searchWalkerMatchesKnownCounts() {
+        for (int depth = 1; depth < START_COUNTS.length; depth++)
+            assertEquals("depth " + depth, START_COUNTS[depth], perft(SearchBoard.of(new QuoridorBoard()), depth));
+    }
+
+    @Test
+    public void walkersAgreeOnOtherBoards() {
+        for (String variant : new String[] {"3x3/2", "5x5", "11x11/13"}) {
+            Board start = new QuoridorBoard(Variant.parse(variant));
+            int depth = variant.startsWith("11") ? 2 : 3;
+            assertEquals(variant, perft(start, depth), perft(SearchBoard.of(start), depth));
+        }
+    }
+
+    static long perft(Board board, int depth) {
+        if (depth == 0) return 1;
+        List<Move> moves = board.getLegalMoves(board.getToMove());
+        if (depth == 1) return moves.size();
+        long n = 0;
+        for (Move m : moves) n += perft(board.applyMove(m), depth - 1);
+        return n;
+    }
+
+    static long perft(SearchBoard board, int depth) {
+        if (depth == 0) return 1;
+        int[] moves = new int[SearchBoard.MAX_MOVES];
+        int count = board.generateMoves(board.getToMove(), moves);
+        if (depth == 1) return count;
+        long n = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            n += perft(board, depth - 1);
+            board.unmakeMove();
+        }
+        return n;
+    }
+}
\ No newline at end of file
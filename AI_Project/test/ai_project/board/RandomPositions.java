@@ -0,0 +1,35 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.MoveKind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Positions of seeded random games, for tests that compare implementations position by position. */
+public final class RandomPositions {
+
+    private RandomPositions() { }
+
+    /**
+     * Every position of {@code games} random games on {@code variant}, at most {@code maxPlies} each. A third
+     * of the moves are walls when any are legal, so the walls run out and paths get long and crooked.
+     */
+    public static List<Board> of(Variant variant, long seed, int games, int maxPlies) {
+        Random rng = new Random(seed);
+        List<Board> positions = new ArrayList<>();
+        for (int g = 0; g < games; g++) {
+            Board board = new QuoridorBoard(variant);
+            for (int ply = 0; ply < maxPlies && !board.isTerminal(); ply++) {
+                positions.add(board);
+                List<Move> legal = board.getLegalMoves(board.getToMove());
+                List<Move> walls = new ArrayList<>();
+                for (Move m : legal) if (m.kind() == MoveKind.WALL) walls.add(m);
+                List<Move> pick = !walls.isEmpty() && rng.nextInt(3) == 0 ? walls : legal;
+                board = board.applyMove(pick.get(rng.nextInt(pick.size())));
+            }
+            positions.add(board);
+        }
+        return positions;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package ai_project.board;
+
+import ai_project.board.model.Move;
+import ai_project.board.model.Pos;
+import ai_project.board.model.WallOrientation;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Move generation on boards other than 9x9, against a slow generator written straight from the rules on
+ * sets of wall anchors, so it shares no code (or bugs) with the bitboards.
+ */
+public class VariantMoveGenerationTest {
+
+    private static final int[][] DIRS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    @Test
+    public void smallestBoardMatchesRules() {
+        checkAgainstRules("3x3/2", 3, 20);
+    }
+
+    @Test
+    public void smallBoardMatchesRules() {
+        checkAgainstRules("5x5", 5, 10);
+    }
+
+    @Test
+    public void largeBoardMatchesRules() {
+        checkAgainstRules("11x11/13", 24, 10);
+    }
+
+    /** 13x13 and up no longer fit two longs, so these take the multi-word bitboard paths. */
+    @Test
+    public void multiWordBoardsMatchRules() {
+        checkAgainstRules("13x13", 13, 3);
+        checkAgainstRules("15x15/20", 15, 3);
+    }
+
+    private static void checkAgainstRules(String variant, long seed, int games) {
+        Variant v = Variant.parse(variant);
+        int[] buffer = new int[SearchBoard.MAX_MOVES];
+        for (Board board : RandomPositions.of(v, seed, games, 120)) {
+            int pid = board.getToMove();
+            String where = variant + " at " + board.zobristKey();
+            Set<Move> expected = rules((QuoridorBoard) board, pid);
+            assertEquals(where, expected, new HashSet<>(board.getLegalMoves(pid)));
+
+            SearchBoard search = SearchBoard.of(board);
+            int count = board.isTerminal() ? 0 : search.generateMoves(pid, buffer);
+            Set<Move> generated = new HashSet<>();
+            for (int i = 0; i < count; i++) generated.add(search.decode(buffer[i]));
+            assertEquals(where, expected, generated);
+            assertEquals(where + " duplicates", count, generated.size());
+            assertEquals(where, board.zobristKey(), search.zobristKey());
+        }
+    }
+
+    private static Set<Move> rules(QuoridorBoard board, int pid) {
+        Set<Move> out = new HashSet<>();
+        if (board.isTerminal()) return out;
+        int n = board.variant().size();
+        Set<Pos> h = board.getWallsH(), vert = board.getWallsV();
+        Pos me = pid == 1 ? board.getP1Pos() : board.getP2Pos();
+        Pos op = pid == 1 ? board.getP2Pos() : board.getP1Pos();
+        for (int[] d : DIRS) {
+            int r = me.row() + d[0], c = me.col() + d[1];
+            if (!canStep(n, h, vert, me.row(), me.col(), d)) continue;
+            if (r != op.row() || c != op.col()) {
+                out.add(Move.pawn(r, c));
+            } else if (canStep(n, h, vert, r, c, d)) {
+                out.add(Move.pawn(r + d[0], c + d[1]));
+            } else {
+                for (int[] s : DIRS) {
+                    if (s[0] * d[0] + s[1] * d[1] != 0 || !canStep(n, h, vert, r, c, s)) continue;
+                    out.add(Move.pawn(r + s[0], c + s[1]));
+                }
+            }
+        }
+        if (board.getWallsUsed(pid) >= board.variant().walls()) return out;
+        for (int r = 0; r < n - 1; r++) {
+            for (int c = 0; c < n - 1; c++) {
+                Pos a = Pos.of(r, c);
+                if (h.contains(a) || vert.contains(a)) continue;
+                if (!h.contains(Pos.of(r, c - 1)) && !h.contains(Pos.of(r, c + 1))) {
+                    Set<Pos> h2 = new HashSet<>(h);
+                    h2.add(a);
+                    if (bothReachGoals(n, h2, vert, board)) out.add(Move.wall(r, c, WallOrientation.HORIZONTAL));
+                }
+                if (!vert.contains(Pos.of(r - 1, c)) && !vert.contains(Pos.of(r + 1, c))) {
+                    Set<Pos> v2 = new HashSet<>(vert);
+                    v2.add(a);
+                    if (bothReachGoals(n, h, v2, board)) out.add(Move.wall(r, c, WallOrientation.VERTICAL));
+                }
+            }
+        }
+        return out;
+    }
+
+    /** A horizontal wall at anchor (r, c) spans the south edges of (r, c) and (r, c + 1); vertical ones likewise. */
+    private static boolean canStep(int n, Set<Pos> h, Set<Pos> v, int r, int c, int[] d) {
+        int nr = r + d[0], nc = c + d[1];
+        if (nr < 0 || nr >= n || nc < 0 || nc >= n) return false;
+        if (d[0] != 0) {
+            int edge = Math.min(r, nr);
+            return !h.contains(Pos.of(edge, c)) && !h.contains(Pos.of(edge, c - 1));
+        }
+        int edge = Math.min(c, nc);
+        return !v.contains(Pos.of(r, edge)) && !v.contains(Pos.of(r - 1, edge));
+    }
+
+    private static boolean bothReachGoals(int n, Set<Pos> h, Set<Pos> v, QuoridorBoard board) {
+        return reaches(n, h, v, board.getP1Pos(), 0) && reaches(n, h, v, board.getP2Pos(), n - 1);
+    }
+
+    private static boolean reaches(int n, Set<Pos> h, Set<Pos> v, Pos from, int goalRow) {
+        boolean[][] seen = new boolean[n][n];
+        ArrayDeque<Pos> queue = new ArrayDeque<>();
+        seen[from.row()][from.col()] = true;
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Pos p = queue.poll();
+            if (p.row() == goalRow) return true;
+            for (int[] d : DIRS) {
+                int r = p.row() + d[0], c = p.col() + d[1];
+                if (!canStep(n, h, v, p.row(), p.col(), d) || seen[r][c]) continue;
+                seen[r][c] = true;
+                queue.add(Pos.of(r, c));
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
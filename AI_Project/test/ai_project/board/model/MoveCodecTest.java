@@ -0,0 +1,57 @@
+package ai_project.board.model;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Every move of every supported size has exactly one code, and every code decodes back to it. */
+public class MoveCodecTest {
+
+    @Test
+    public void encodeAndDecodeAreInverse() {
+        for (int size = 2; size <= MoveCodec.MAX_SIZE; size++) {
+            MoveCodec codec = MoveCodec.of(size);
+            Set<Move> seen = new HashSet<>();
+            for (int code = 0; code < codec.codeSpace(); code++) {
+                Move m = codec.decode(code);
+                if (m == null) continue;
+                assertTrue(size + ": " + m + " decoded twice", seen.add(m));
+                assertEquals(size + ": " + m, code, codec.encode(m));
+                assertEquals(m.kind() == MoveKind.WALL, codec.isWall(code));
+                if (codec.isWall(code))
+                    assertEquals(m.orientation() == WallOrientation.VERTICAL, codec.isVertical(code));
+            }
+            assertEquals("moves of size " + size, size * size + 2 * (size - 1) * (size - 1), seen.size());
+
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    assertSame(Move.pawn(r, c), codec.decode(codec.encode(Move.pawn(r, c))));
+                    if (r == size - 1 || c == size - 1) continue;
+                    for (WallOrientation o : WallOrientation.values())
+                        assertEquals(Move.wall(r, c, o), codec.decode(codec.encode(Move.wall(r, c, o))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void movesOffTheBoardHaveNoCode() {
+        MoveCodec codec = MoveCodec.of(9);
+        assertEquals(MoveCodec.NONE, codec.encode(Move.pawn(9, 0)));
+        assertEquals(MoveCodec.NONE, codec.encode(Move.pawn(0, -1)));
+        assertEquals(MoveCodec.NONE, codec.encode(Move.wall(8, 0, WallOrientation.HORIZONTAL)));
+        assertEquals(MoveCodec.NONE, codec.encode(Move.wall(0, 8, WallOrientation.VERTICAL)));
+        assertNull(codec.decode(MoveCodec.NONE));
+        assertNull(codec.decode(codec.codeSpace()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedSizeIsRejected() {
+        MoveCodec.of(MoveCodec.MAX_SIZE + 1);
+    }
+}
\ No newline at end of file
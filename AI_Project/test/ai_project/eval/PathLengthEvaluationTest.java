@@ -0,0 +1,40 @@
+package ai_project.eval;
+
+import ai_project.board.Board;
+import ai_project.board.RandomPositions;
+import ai_project.board.SearchBoard;
+import ai_project.board.Variant;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/** The batched {@code evaluateChildren} scores every child exactly as {@code evaluate} does after making it. */
+public class PathLengthEvaluationTest {
+
+    @Test
+    public void batchMatchesPerChildEvaluation() {
+        EvaluationFunction eval = new PathLengthEvaluation();
+        int[] moves = new int[SearchBoard.MAX_MOVES];
+        double[] batch = new double[SearchBoard.MAX_MOVES];
+        for (String variant : new String[] {"9x9/10", "5x5", "11x11/13"}) {
+            for (Board position : RandomPositions.of(Variant.parse(variant), 25, 3, 60)) {
+                if (position.isTerminal()) continue;
+                SearchBoard board = SearchBoard.of(position);
+                int count = board.generateMoves(board.getToMove(), moves);
+                for (int pid = 1; pid <= 2; pid++) {
+                    int opp = pid == 1 ? 2 : 1;
+                    // An offset window, as search uses when part of the list is already scored
+                    int from = count / 3;
+                    eval.evaluateChildren(board, moves, from, count, pid, opp, batch);
+                    for (int i = from; i < count; i++) {
+                        board.makeMove(moves[i]);
+                        double single = eval.evaluate(board, pid, opp);
+                        board.unmakeMove();
+                        assertEquals(variant + " " + board.decode(moves[i]) + " for " + pid, single, batch[i], 0.0);
+                    }
+                    assertEquals("board restored", position.zobristKey(), board.zobristKey());
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.PawnRace;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.RandomPositions;
+import ai_project.board.SearchBoard;
+import ai_project.board.Variant;
+import ai_project.board.model.Move;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** The retrograde {@link PawnRace} table against a plain pawn-only game-tree search, and the solver's moves. */
+public class EndgameSolverTest {
+
+    /** Plies the brute-force search looks ahead; races decided within it must agree exactly. */
+    private static final int HORIZON = 9;
+    /** Score of a win on the spot; a win in n plies scores MATE - n. */
+    private static final int MATE = 1000;
+
+    @Test
+    public void raceTableMatchesGameTreeSearch() {
+        int compared = 0;
+        for (Board board : wallessPositions()) {
+            PawnRace race = PawnRace.of(board);
+            int score = negamax(SearchBoard.of(board), HORIZON);
+            int result = race.result(board);
+            String where = board.variant() + " at " + board.zobristKey();
+            if (result == PawnRace.DRAW) {
+                assertEquals(where, 0, score);
+            } else if (race.plies(board) <= HORIZON) {
+                assertEquals(where, result * (MATE - race.plies(board)), score);
+                compared++;
+            }
+        }
+        assertTrue("too few races short enough to check: " + compared, compared >= 20);
+    }
+
+    @Test
+    public void solverMovesKeepTheRaceResult() {
+        EndgameSolver solver = new EndgameSolver();
+        for (Board board : wallessPositions()) {
+            if (board.isTerminal()) continue;
+            int pid = board.getToMove();
+            Move move = solver.solve(board, pid);
+            assertNotNull(move);
+            assertTrue(board.isLegal(move));
+
+            PawnRace race = PawnRace.of(board);
+            Board next = board.applyMove(move);
+            int result = race.result(board);
+            if (next.isTerminal()) {
+                assertEquals(PawnRace.WIN, result);
+                assertEquals(1, race.plies(board));
+                continue;
+            }
+            assertEquals(-result, race.result(next));
+            if (result != PawnRace.DRAW) assertEquals(race.plies(board) - 1, race.plies(next));
+        }
+    }
+
+    @Test
+    public void solverLeavesPositionsWithOpponentWallsToSearch() {
+        EndgameSolver solver = new EndgameSolver();
+        Board start = new QuoridorBoard(Variant.parse("5x5/1"));
+        assertNull(solver.solve(start, 1));
+        assertNull(solver.solve(start, 2));
+    }
+
+    /** Positions of random games on small boards once both players have placed all their walls. */
+    private static List<Board> wallessPositions() {
+        List<Board> out = new ArrayList<>();
+        for (String variant : new String[] {"5x5/0", "5x5/1", "5x5/2", "7x7/2"}) {
+            for (Board board : RandomPositions.of(Variant.parse(variant), 17, 12, 40)) {
+                int walls = board.variant().walls();
+                if (board.getWallsUsed(1) == walls && board.getWallsUsed(2) == walls) out.add(board);
+            }
+        }
+        return out;
+    }
+
+    /** Distance-to-win score of the side to move, 0 if neither side forces a win within {@code depth} plies. */
+    private static int negamax(SearchBoard board, int depth) {
+        if (board.isTerminal()) return -MATE;
+        if (depth == 0) return 0;
+        int[] moves = new int[SearchBoard.MAX_MOVES];
+        int count = board.generatePawnMoves(board.getToMove(), moves);
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int s = negamax(board, depth - 1);
+            board.unmakeMove();
+            // One ply further from the end, seen from this side
+            int score = s > 0 ? -s + 1 : s < 0 ? -s - 1 : 0;
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+}
\ No newline at end of file
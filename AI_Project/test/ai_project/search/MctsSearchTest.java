@@ -0,0 +1,30 @@
+package ai_project.search;
+
+import ai_project.board.Board;
+import ai_project.board.QuoridorBoard;
+import ai_project.board.RandomPositions;
+import ai_project.board.Variant;
+import ai_project.board.model.Move;
+import ai_project.eval.PathLengthEvaluation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/** MCTS answers with a legal move of the player it is asked about, whoever is to move. */
+public class MctsSearchTest {
+
+    @Test
+    public void movesAreLegalForEitherSide() {
+        try (MctsSearch mcts = new MctsSearch(2, 15)) {
+            for (Board board : RandomPositions.of(Variant.parse("7x7"), 15, 2, 30)) {
+                if (board.isTerminal()) continue;
+                for (int pid = 1; pid <= 2; pid++) {
+                    Move m = mcts.chooseMove(board, pid, SearchLimits.nodes(200), new PathLengthEvaluation());
+                    assertNotNull(m);
+                    assertTrue(pid + " " + m, ((QuoridorBoard) board).withToMove(pid).isLegal(m));
+                }
+            }
+        }
+    }
+}
\ No newline at end of file